@@ -28,6 +28,8 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.network.NetworkConstants;
 
+import de.markusbordihn.advancementstracker.client.gui.AdvancementIconAtlas;
+import de.markusbordihn.advancementstracker.client.gui.TextLayoutCache;
 import de.markusbordihn.advancementstracker.client.gui.ClientGui;
 import de.markusbordihn.advancementstracker.client.keymapping.ModKeyMapping;
 import de.markusbordihn.advancementstracker.utils.StopModReposts;
@@ -49,6 +51,8 @@ public class AdvancementsTracker {
 
     DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
       modEventBus.addListener(ClientGui::registerClientGui);
+      modEventBus.addListener(AdvancementIconAtlas::registerClientReloadListener);
+      modEventBus.addListener(TextLayoutCache::registerClientReloadListener);
       modEventBus.addListener(ModKeyMapping::registerKeyMapping);
     });
   }
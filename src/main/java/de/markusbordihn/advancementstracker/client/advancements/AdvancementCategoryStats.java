@@ -0,0 +1,54 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.advancements;
+
+public class AdvancementCategoryStats {
+
+  private int numberOfAdvancements = 0;
+  private int numberOfCompletedAdvancements = 0;
+
+  AdvancementCategoryStats() {}
+
+  void addAdvancement(AdvancementEntry advancementEntry) {
+    this.numberOfAdvancements++;
+    if (advancementEntry.getProgress().isDone()) {
+      this.numberOfCompletedAdvancements++;
+    }
+  }
+
+  void updateAdvancement(boolean isDone) {
+    this.numberOfCompletedAdvancements += isDone ? 1 : -1;
+  }
+
+  public int getNumberOfAdvancements() {
+    return this.numberOfAdvancements;
+  }
+
+  public int getNumberOfCompletedAdvancements() {
+    return this.numberOfCompletedAdvancements;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[Stats] %s of %s completed", this.numberOfCompletedAdvancements,
+        this.numberOfAdvancements);
+  }
+
+}
@@ -19,7 +19,11 @@
 
 package de.markusbordihn.advancementstracker.client.advancements;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,7 +39,6 @@ import net.minecraft.advancements.AdvancementRewards;
 import net.minecraft.advancements.DisplayInfo;
 import net.minecraft.advancements.FrameType;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.gui.Font;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextColor;
 import net.minecraft.resources.ResourceLocation;
@@ -50,6 +53,16 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
+  // Comparators for the sorted advancement views.
+  private static final Comparator<AdvancementEntry> SORT_BY_TITLE =
+      AdvancementEntry::compareByTitle;
+  private static final Comparator<AdvancementEntry> SORT_BY_STATUS =
+      AdvancementEntry::compareByStatus;
+  private static final Comparator<AdvancementEntry> SORT_BY_PROGRESS =
+      AdvancementEntry::compareByProgress;
+  private static final Comparator<AdvancementEntry> SORT_BY_LAST_PROGRESS =
+      AdvancementEntry::compareByLastProgress;
+
   Advancement advancement;
   Advancement rootAdvancement;
 
@@ -57,7 +70,14 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
   ResourceLocation rootId;
 
   String[][] requirements;
-  int rootLevel = 0;
+
+  // Document id inside the search and filter indexes, or -1 if the entry is not indexed.
+  int documentId = -1;
+
+  // Tree
+  private final List<AdvancementEntry> childEntries = new ArrayList<>();
+  private AdvancementEntry parentEntry;
+  private int depth = 0;
 
   // General
   private final ResourceLocation id;
@@ -67,6 +87,7 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
   private ItemStack icon;
   private ResourceLocation background;
   private String description;
+  private String sortName;
   private String title;
   private FrameType frameType;
 
@@ -93,13 +114,16 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
   private AdvancementEntryProgress advancementProgress;
 
   // Helper Tools
-  private final Font font;
   private final Minecraft minecraft;
 
   AdvancementEntry(Advancement advancement, AdvancementProgress advancementProgress) {
+    this(advancement, advancementProgress, null);
+  }
+
+  AdvancementEntry(Advancement advancement, AdvancementProgress advancementProgress,
+      Advancement rootAdvancement) {
     // General Helper Tools
     this.minecraft = Minecraft.getInstance();
-    this.font = this.minecraft.font;
 
     // Advancement Progress
     this.advancementProgress = new AdvancementEntryProgress(advancement, advancementProgress);
@@ -109,14 +133,10 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
     this.displayInfo = advancement.getDisplay();
     this.id = advancement.getId();
     this.idString = advancement.getId().toString();
-    this.rootAdvancement = advancement.getParent();
+    this.rootAdvancement = rootAdvancement;
     this.requirements = advancement.getRequirements();
 
     if (this.rootAdvancement != null) {
-      while (this.rootAdvancement.getParent() != null) {
-        this.rootAdvancement = this.rootAdvancement.getParent();
-        rootLevel++;
-      }
       this.rootId = this.rootAdvancement.getId();
     }
 
@@ -127,7 +147,7 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
       // Title
       this.icon = this.displayInfo.getIcon();
       this.title = this.displayInfo.getTitle().getString();
-      this.titleWidth = this.font.width(this.title);
+      this.titleWidth = this.minecraft.font.width(this.title);
       TextColor titleTextColor = this.displayInfo.getTitle().getStyle().getColor();
       if (titleTextColor != null) {
         this.titleColor = titleTextColor.getValue();
@@ -144,7 +164,7 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
     } else {
       this.background = null;
       this.title = advancement.getId().toString();
-      this.titleWidth = this.font.width(this.title);
+      this.titleWidth = this.minecraft.font.width(this.title);
     }
 
     // Use background from root advancement if we don't have any itself.
@@ -158,6 +178,7 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
     // Stripped version for ui renderer.
     this.descriptionComponent = Component.literal(stripControlCodes(this.description));
     this.titleComponent = Component.literal(stripControlCodes(this.title));
+    this.sortName = StringUtils.toLowerCase(stripControlCodes(this.title));
 
     // Handle Rewards like experience, loot and recipes.
     this.rewards = advancement.getRewards();
@@ -171,6 +192,10 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
     return this.advancementProgress;
   }
 
+  public int getDocumentId() {
+    return this.documentId;
+  }
+
   public ResourceLocation getId() {
     return this.id;
   }
@@ -204,7 +229,7 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
   }
 
   public String getSortName() {
-    return StringUtils.toLowerCase(stripControlCodes(this.title));
+    return this.sortName;
   }
 
   public Component getTitle() {
@@ -223,66 +248,95 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
     return this.titleColor;
   }
 
+  public AdvancementEntry getParentEntry() {
+    return this.parentEntry;
+  }
+
+  public List<AdvancementEntry> getChildEntries() {
+    return Collections.unmodifiableList(this.childEntries);
+  }
+
+  public boolean isRoot() {
+    return this.rootAdvancement == null;
+  }
+
+  void attachTo(AdvancementEntry parentEntry) {
+    if (this.parentEntry != null) {
+      this.parentEntry.childEntries.remove(this);
+    }
+    this.parentEntry = parentEntry;
+    parentEntry.childEntries.add(this);
+    updateTreePosition(parentEntry.depth + 1);
+  }
+
+  private void updateTreePosition(int depth) {
+    this.depth = depth;
+    for (AdvancementEntry childEntry : this.childEntries) {
+      childEntry.updateTreePosition(depth + 1);
+    }
+  }
+
   public void updateAdvancementProgress(AdvancementProgress advancementProgress) {
     this.advancementProgress.update(advancementProgress);
   }
 
   public Integer getRewardsExperience() {
-    if (this.rewardsExperience == null) {
-      JsonObject rewardsData = getRewardsData();
-      if (rewardsData != null) {
-        // Getting rewards experience
-        this.rewardsExperience = GsonHelper.getAsInt(rewardsData, "experience", 0);
-        if (this.rewardsExperience > 0) {
-          this.hasExperienceReward = true;
-          this.hasRewardsData = true;
-        }
-      }
-    }
+    loadRewards();
     return this.rewardsExperience;
   }
 
   public ResourceLocation[] getRewardsLoot() {
-    if (this.rewardsLoot == null) {
-      JsonObject rewardsData = getRewardsData();
-      if (rewardsData != null) {
-        // Getting Loot entries
-        JsonArray lootArray = GsonHelper.getAsJsonArray(rewardsData, "loot", new JsonArray());
-        if (lootArray != null) {
-          this.rewardsLoot = new ResourceLocation[lootArray.size()];
-          for (int j = 0; j < this.rewardsLoot.length; ++j) {
-            this.rewardsLoot[j] = new ResourceLocation(
-                GsonHelper.convertToString(lootArray.get(j), "loot[" + j + "]"));
-            this.hasLootReward = true;
-            this.hasRewardsData = true;
-          }
-        }
-      }
-    }
+    loadRewards();
     return this.rewardsLoot;
   }
 
   public ResourceLocation[] getRewardsRecipes() {
-    if (this.rewardsRecipes == null) {
-      JsonObject rewardsData = getRewardsData();
-      if (rewardsData != null) {
-        // Getting recipes entries
-        JsonArray recipesArray = GsonHelper.getAsJsonArray(rewardsData, "recipes", new JsonArray());
-        if (recipesArray != null) {
-          this.rewardsRecipes = new ResourceLocation[recipesArray.size()];
-          for (int k = 0; k < this.rewardsRecipes.length; ++k) {
-            this.rewardsRecipes[k] = new ResourceLocation(
-                GsonHelper.convertToString(recipesArray.get(k), "recipes[" + k + "]"));
-            this.hasRecipesReward = true;
-            this.hasRewardsData = true;
-          }
-        }
-      }
-    }
+    loadRewards();
     return this.rewardsRecipes;
   }
 
+  private void loadRewards() {
+    if (this.hasRewardsLoaded) {
+      return;
+    }
+    this.hasRewardsLoaded = true;
+
+    // Rewards are serialized only once and all values are read from the same object.
+    JsonObject rewardsData = getRewardsData();
+    if (rewardsData == null) {
+      return;
+    }
+    this.hasRewards = true;
+
+    // Getting rewards experience
+    this.rewardsExperience = GsonHelper.getAsInt(rewardsData, "experience", 0);
+    this.hasExperienceReward = this.rewardsExperience > 0;
+
+    // Getting Loot entries
+    JsonArray lootArray = GsonHelper.getAsJsonArray(rewardsData, "loot", new JsonArray());
+    this.rewardsLoot = new ResourceLocation[lootArray.size()];
+    for (int j = 0; j < this.rewardsLoot.length; ++j) {
+      this.rewardsLoot[j] =
+          new ResourceLocation(GsonHelper.convertToString(lootArray.get(j), "loot[" + j + "]"));
+    }
+    this.hasLootReward = this.rewardsLoot.length > 0;
+
+    // Getting recipes entries
+    JsonArray recipesArray = GsonHelper.getAsJsonArray(rewardsData, "recipes", new JsonArray());
+    this.rewardsRecipes = new ResourceLocation[recipesArray.size()];
+    for (int k = 0; k < this.rewardsRecipes.length; ++k) {
+      this.rewardsRecipes[k] = new ResourceLocation(
+          GsonHelper.convertToString(recipesArray.get(k), "recipes[" + k + "]"));
+    }
+    this.hasRecipesReward = this.rewardsRecipes.length > 0;
+
+    this.hasRewardsData = this.hasExperienceReward || this.hasLootReward || this.hasRecipesReward;
+  }
+
   private JsonObject getRewardsData() {
+    if (this.rewards == null) {
+      return null;
+    }
     // There is no direct access to the rewards information, for this reason we
     // are using the JsonObject to get access to the relevant information.
     JsonElement rewardsJson = null;
@@ -301,27 +355,27 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
   }
 
   public boolean hasRewards() {
-    if (!this.hasRewardsLoaded && this.rewards != null) {
-      this.hasRewards =
-          getRewardsExperience() != null || getRewardsLoot() != null || getRewardsRecipes() != null;
-      this.hasRewardsLoaded = true;
-    }
+    loadRewards();
     return this.hasRewards;
   }
 
   public boolean hasRewardsData() {
-    return this.hasRewards() && this.hasRewardsData;
+    loadRewards();
+    return this.hasRewardsData;
   }
 
   public boolean hasExperienceReward() {
+    loadRewards();
     return this.hasExperienceReward;
   }
 
   public boolean hasLootReward() {
+    loadRewards();
     return this.hasLootReward;
   }
 
   public boolean hasRecipesReward() {
+    loadRewards();
     return this.hasRecipesReward;
   }
 
@@ -340,7 +394,7 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
     if (object == this) {
       return true;
     }
-    return this.id == ((AdvancementEntry) object).id;
+    return this.id.equals(((AdvancementEntry) object).id);
   }
 
   @Override
@@ -355,20 +409,55 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
   }
 
   public static Comparator<AdvancementEntry> sortByTitle() {
-    return (AdvancementEntry firstAdvancementEntry,
-        AdvancementEntry secondAdvancementEntry) -> firstAdvancementEntry.title
-            .compareTo(secondAdvancementEntry.title);
+    return SORT_BY_TITLE;
   }
 
   public static Comparator<AdvancementEntry> sortByStatus() {
-    return (AdvancementEntry firstAdvancementEntry, AdvancementEntry secondAdvancementEntry) -> {
-      int result = Boolean.compare(firstAdvancementEntry.getProgress().isDone(),
-          secondAdvancementEntry.getProgress().isDone());
-      if (result == 0) {
-        result = firstAdvancementEntry.title.compareTo(secondAdvancementEntry.title);
-      }
-      return result;
-    };
+    return SORT_BY_STATUS;
+  }
+
+  public static Comparator<AdvancementEntry> sortByProgress() {
+    return SORT_BY_PROGRESS;
+  }
+
+  public static Comparator<AdvancementEntry> sortByLastProgress() {
+    return SORT_BY_LAST_PROGRESS;
+  }
+
+  private static int compareByTitle(AdvancementEntry firstAdvancementEntry,
+      AdvancementEntry secondAdvancementEntry) {
+    int result = firstAdvancementEntry.sortName.compareTo(secondAdvancementEntry.sortName);
+    // Use the id as last resort to get a stable and unique order.
+    return result == 0 ? firstAdvancementEntry.id.compareTo(secondAdvancementEntry.id) : result;
+  }
+
+  private static int compareByStatus(AdvancementEntry firstAdvancementEntry,
+      AdvancementEntry secondAdvancementEntry) {
+    int result = Boolean.compare(firstAdvancementEntry.getProgress().isDone(),
+        secondAdvancementEntry.getProgress().isDone());
+    return result == 0 ? compareByTitle(firstAdvancementEntry, secondAdvancementEntry) : result;
+  }
+
+  private static int compareByProgress(AdvancementEntry firstAdvancementEntry,
+      AdvancementEntry secondAdvancementEntry) {
+    // Highest progress first.
+    int result = Float.compare(secondAdvancementEntry.getProgress().getProgress(),
+        firstAdvancementEntry.getProgress().getProgress());
+    return result == 0 ? compareByTitle(firstAdvancementEntry, secondAdvancementEntry) : result;
+  }
+
+  private static int compareByLastProgress(AdvancementEntry firstAdvancementEntry,
+      AdvancementEntry secondAdvancementEntry) {
+    // Latest progress first and advancements without any progress at the end.
+    Date firstDate = firstAdvancementEntry.getProgress().getLastProgressDate();
+    Date secondDate = secondAdvancementEntry.getProgress().getLastProgressDate();
+    int result = 0;
+    if (firstDate != null && secondDate != null) {
+      result = secondDate.compareTo(firstDate);
+    } else if (firstDate != null || secondDate != null) {
+      result = firstDate != null ? -1 : 1;
+    }
+    return result == 0 ? compareByTitle(firstAdvancementEntry, secondAdvancementEntry) : result;
   }
 
   @Override
@@ -377,7 +466,7 @@ public class AdvancementEntry implements Comparator<AdvancementEntry> {
       return String.format("[Root Advancement] (%s) %s: %s %s", this.frameType, this.id, this.title,
           this.advancementProgress.getProgress());
     }
-    return String.format("[Advancement %s] (%s) %s => %s: %s %s", this.rootLevel, this.frameType,
+    return String.format("[Advancement %s] (%s) %s => %s: %s %s", this.depth, this.frameType,
         this.rootId, this.id, this.title, this.advancementProgress.getProgress());
   }
 
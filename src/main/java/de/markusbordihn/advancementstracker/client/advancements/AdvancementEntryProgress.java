@@ -59,6 +59,7 @@ public class AdvancementEntryProgress {
   private boolean isDone = false;
   private int progressStringWidth = 0;
   private int progressTotal = 0;
+  private int version = 0;
 
   // Criteria
   private Iterable<String> completedCriteria;
@@ -118,6 +119,9 @@ public class AdvancementEntryProgress {
     }
 
     this.lastProgressDate = this.findLastProgressDate();
+
+    // Increase version, so that cached layouts based on this progress could be invalidated.
+    this.version++;
   }
 
   public String getNamespace() {
@@ -128,6 +132,10 @@ public class AdvancementEntryProgress {
     return this.isDone;
   }
 
+  public boolean isInProgress() {
+    return !this.isDone && this.completedCriteriaNumber > 0;
+  }
+
   public int getMaxCriteraRequired() {
     return this.maxCriteraRequired;
   }
@@ -160,6 +168,10 @@ public class AdvancementEntryProgress {
     return this.progressTotal;
   }
 
+  public int getVersion() {
+    return this.version;
+  }
+
   public float getProgress() {
     return this.progress;
   }
@@ -57,17 +57,13 @@ public class AdvancementsEventManager {
     if (ClientAdvancementManager.isValidAdvancement(advancement)) {
       log.debug("[Advancement Event] {}", advancement);
       String advancementId = advancement.getId().toString();
-      Advancement rootAdvancement = advancement.getParent();
-      if (rootAdvancement == null) {
+      if (advancement.getParent() == null) {
         if (advancementId.contains("/root") || advancementId.contains(":root")) {
           ClientAdvancementManager.reset();
         }
         AdvancementsManager.addAdvancementRoot(advancement);
       } else {
-        while (rootAdvancement != null && rootAdvancement.getParent() != null) {
-          rootAdvancement = rootAdvancement.getParent();
-        }
-        AdvancementsManager.addAdvancementRoot(rootAdvancement);
+        // Root advancement will be resolved and added by the advancements manager.
         AdvancementsManager.addAdvancementTask(advancement);
       }
 
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.advancements;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.markusbordihn.advancementstracker.Constants;
+
+/**
+ * Pre-calculated flags of all indexed advancements as bitsets, so that filters could be evaluated
+ * as bitset intersections instead of checking the progress and rewards of every advancement.
+ */
+public class AdvancementsFilterIndex {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  public enum Flag {
+    DONE, HAS_EXPERIENCE, HAS_LOOT, HAS_RECIPES, TRACKED, HAS_PROGRESS
+  }
+
+  private static Map<Flag, BitSet> flagIndex = createFlagIndex();
+  private static int numberOfDocuments = 0;
+
+  protected AdvancementsFilterIndex() {}
+
+  public static void reset() {
+    flagIndex = createFlagIndex();
+    numberOfDocuments = 0;
+  }
+
+  public static void add(AdvancementEntry advancementEntry) {
+    int documentId = advancementEntry.getDocumentId();
+    if (documentId < 0) {
+      return;
+    }
+    numberOfDocuments = Math.max(numberOfDocuments, documentId + 1);
+
+    // Rewards are not changing, so they are only parsed once per entry.
+    setFlag(Flag.HAS_EXPERIENCE, documentId, advancementEntry.hasExperienceReward());
+    setFlag(Flag.HAS_LOOT, documentId, advancementEntry.hasLootReward());
+    setFlag(Flag.HAS_RECIPES, documentId, advancementEntry.hasRecipesReward());
+    update(advancementEntry);
+  }
+
+  public static void update(AdvancementEntry advancementEntry) {
+    int documentId = advancementEntry.getDocumentId();
+    if (documentId < 0) {
+      return;
+    }
+    AdvancementEntryProgress progress = advancementEntry.getProgress();
+    setFlag(Flag.DONE, documentId, progress.isDone());
+    setFlag(Flag.HAS_PROGRESS, documentId, progress.isInProgress());
+    setFlag(Flag.TRACKED, documentId,
+        TrackedAdvancementsManager.isTrackedAdvancement(advancementEntry));
+  }
+
+  /**
+   * Returns all advancements, which are matching the given filter options.
+   */
+  public static BitSet filter(boolean showCompleted, boolean onlyRewarded, boolean onlyTracked) {
+    BitSet result = new BitSet(numberOfDocuments);
+    result.set(0, numberOfDocuments);
+    if (!showCompleted) {
+      result.andNot(flagIndex.get(Flag.DONE));
+    }
+    if (onlyRewarded) {
+      BitSet rewarded = (BitSet) flagIndex.get(Flag.HAS_EXPERIENCE).clone();
+      rewarded.or(flagIndex.get(Flag.HAS_LOOT));
+      rewarded.or(flagIndex.get(Flag.HAS_RECIPES));
+      result.and(rewarded);
+    }
+    if (onlyTracked) {
+      result.and(flagIndex.get(Flag.TRACKED));
+    }
+    return result;
+  }
+
+  public static boolean hasFlag(AdvancementEntry advancementEntry, Flag flag) {
+    int documentId = advancementEntry.getDocumentId();
+    return documentId >= 0 && flagIndex.get(flag).get(documentId);
+  }
+
+  private static void setFlag(Flag flag, int documentId, boolean value) {
+    flagIndex.get(flag).set(documentId, value);
+  }
+
+  private static Map<Flag, BitSet> createFlagIndex() {
+    Map<Flag, BitSet> result = new EnumMap<>(Flag.class);
+    for (Flag flag : Flag.values()) {
+      result.put(flag, new BitSet());
+    }
+    return result;
+  }
+
+}
@@ -19,13 +19,12 @@
 
 package de.markusbordihn.advancementstracker.client.advancements;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -40,20 +39,41 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 
 import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.client.gui.AdvancementIconAtlas;
+import de.markusbordihn.advancementstracker.client.gui.screens.AdvancementsTrackerScreenPrewarmer;
 
 @EventBusSubscriber(Dist.CLIENT)
 public class AdvancementsManager {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
+  private static final AdvancementCategoryStats EMPTY_STATS = new AdvancementCategoryStats();
+
   private static AdvancementEntry selectedAdvancement;
   private static AdvancementEntry selectedRootAdvancement;
   private static Map<Advancement, AdvancementProgress> advancementProgressMap = new HashMap<>();
-  private static Map<ResourceLocation, Set<AdvancementEntry>> advancementsMap = new HashMap<>();
-  private static Set<AdvancementEntry> rootAdvancements = new HashSet<>();
-  private static Set<String> advancementsIndex = new HashSet<>();
+  private static Map<ResourceLocation, SortedAdvancements> advancementsMap = new HashMap<>();
+  private static SortedAdvancements rootAdvancements = new SortedAdvancements();
+
+  // Id based indexes for constant lookups of (root) advancements.
+  private static Map<ResourceLocation, AdvancementEntry> advancementsIndex = new HashMap<>();
+  private static Map<ResourceLocation, AdvancementEntry> rootAdvancementsIndex = new HashMap<>();
+
+  // Completion stats per root advancement and over all advancements.
+  private static Map<ResourceLocation, AdvancementCategoryStats> categoryStatsMap = new HashMap<>();
+
+  // Memorized root advancements to avoid walking up the parent chain for every advancement.
+  private static Map<ResourceLocation, Advancement> rootAdvancementCache = new HashMap<>();
   private static boolean hasAdvancements = false;
 
+  // Child advancements which are waiting for their direct parent, by the id of the parent.
+  private static Map<ResourceLocation, List<AdvancementEntry>> pendingChildEntries =
+      new HashMap<>();
+
+  // Batch mode, which defers sorting and tracked advancements checks until the end of the batch.
+  private static List<AdvancementEntry> batchAdvancements = new ArrayList<>();
+  private static boolean batchMode = false;
+
   protected AdvancementsManager() {}
 
   @SubscribeEvent
@@ -68,102 +88,220 @@ public class AdvancementsManager {
   public static void reset() {
     log.debug("Reset Advancements Manager ...");
     advancementProgressMap = new HashMap<>();
-    advancementsIndex = new HashSet<>();
+    advancementsIndex = new HashMap<>();
     advancementsMap = new HashMap<>();
     hasAdvancements = false;
-    rootAdvancements = new HashSet<>();
+    rootAdvancements = new SortedAdvancements();
+    rootAdvancementsIndex = new HashMap<>();
+    rootAdvancementCache = new HashMap<>();
+    pendingChildEntries = new HashMap<>();
+    categoryStatsMap = new HashMap<>();
+    batchAdvancements = new ArrayList<>();
+    batchMode = false;
     selectedAdvancement = null;
     selectedRootAdvancement = null;
+    AdvancementIconAtlas.clear();
+    AdvancementsSearchIndex.reset();
+    AdvancementsFilterIndex.reset();
   }
 
   public static void addAdvancementRoot(Advancement advancement) {
-    String advancementId = advancement.getId().toString();
-    if (hasAdvancement(advancementId)) {
+    if (hasAdvancement(advancement.getId())) {
       return;
     }
     AdvancementProgress advancementProgress = getAdvancementProgress(advancement);
     AdvancementEntry advancementEntry = new AdvancementEntry(advancement, advancementProgress);
     rootAdvancements.add(advancementEntry);
-    advancementsIndex.add(advancementId);
+    rootAdvancementsIndex.put(advancementEntry.getId(), advancementEntry);
+    AdvancementIconAtlas.add(advancementEntry.getIcon());
+    attachPendingChildEntries(advancementEntry);
     log.debug("Added Root Advancement: {}", advancementEntry);
   }
 
   public static void addAdvancementTask(Advancement advancement) {
-    String advancementId = advancement.getId().toString();
-    Advancement rootAdvancement = advancement.getParent();
+    // Advancements without parent are root advancements, even if they are reported as task.
+    if (advancement.getParent() == null) {
+      addAdvancementRoot(advancement);
+      return;
+    }
 
     // Try to add root advancement, if this is a child advancement.
-    while (rootAdvancement != null && rootAdvancement.getParent() != null) {
-      rootAdvancement = rootAdvancement.getParent();
-    }
-    if (rootAdvancement != null) {
+    Advancement rootAdvancement = getRootAdvancementOf(advancement);
+    if (rootAdvancement != null && rootAdvancement != advancement) {
       addAdvancementRoot(rootAdvancement);
     }
 
     // Skip rest, if the advancement is already known.
-    if (hasAdvancement(advancementId)) {
+    if (hasAdvancement(advancement.getId())) {
       return;
     }
 
     // Get advancements stats and store the advancement data.
     AdvancementProgress advancementProgress = getAdvancementProgress(advancement);
-    AdvancementEntry advancementEntry = new AdvancementEntry(advancement, advancementProgress);
-    Set<AdvancementEntry> childAdvancements = advancementsMap.get(advancementEntry.rootId);
+    AdvancementEntry advancementEntry =
+        new AdvancementEntry(advancement, advancementProgress, rootAdvancement);
+    SortedAdvancements childAdvancements = advancementsMap.get(advancementEntry.rootId);
     if (childAdvancements == null) {
-      childAdvancements = new HashSet<>();
+      childAdvancements = new SortedAdvancements();
+      if (batchMode) {
+        childAdvancements.defer();
+      }
       advancementsMap.put(advancementEntry.rootId, childAdvancements);
     }
     childAdvancements.add(advancementEntry);
-    advancementsIndex.add(advancementId);
+    advancementsIndex.put(advancementEntry.getId(), advancementEntry);
+    categoryStatsMap.computeIfAbsent(advancementEntry.rootId, id -> new AdvancementCategoryStats())
+        .addAdvancement(advancementEntry);
+    AdvancementIconAtlas.add(advancementEntry.getIcon());
+    AdvancementsSearchIndex.add(advancementEntry);
+    AdvancementsFilterIndex.add(advancementEntry);
+
+    // Attach the advancement to the nearest known parent inside the advancement tree.
+    AdvancementEntry parentEntry = getParentEntry(advancement);
+    if (parentEntry != null) {
+      advancementEntry.attachTo(parentEntry);
+    }
+
+    // Re-attach the advancement, as soon as the direct parent is known.
+    ResourceLocation parentId = advancement.getParent().getId();
+    if (parentEntry == null || !parentEntry.getId().equals(parentId)) {
+      pendingChildEntries.computeIfAbsent(parentId, id -> new ArrayList<>()).add(advancementEntry);
+    }
+    attachPendingChildEntries(advancementEntry);
+
     if (!hasAdvancements) {
       hasAdvancements = true;
     }
     log.debug("Added Advancement Task: {}", advancementEntry);
-    TrackedAdvancementsManager.checkForTrackedAdvancement(advancementEntry);
+    if (batchMode) {
+      batchAdvancements.add(advancementEntry);
+    } else {
+      TrackedAdvancementsManager.checkForTrackedAdvancement(advancementEntry);
+    }
   }
 
-  public static boolean hasAdvancement(Advancement advancement) {
-    return hasAdvancement(advancement.getId().toString());
+  public static void beginBatch() {
+    if (batchMode) {
+      return;
+    }
+    batchMode = true;
+    rootAdvancements.defer();
+    for (SortedAdvancements sortedAdvancements : advancementsMap.values()) {
+      sortedAdvancements.defer();
+    }
+    TrackedAdvancementsManager.beginBatch();
   }
 
-  public static boolean hasAdvancement(String advancementId) {
-    return advancementsIndex.contains(advancementId);
+  public static void endBatch() {
+    if (!batchMode) {
+      return;
+    }
+    batchMode = false;
+
+    // Build sorted indexes only once for the whole batch.
+    rootAdvancements.commit();
+    for (SortedAdvancements sortedAdvancements : advancementsMap.values()) {
+      sortedAdvancements.commit();
+    }
+
+    // Check for tracked advancements, after the progress of the whole batch is known.
+    for (AdvancementEntry advancementEntry : batchAdvancements) {
+      TrackedAdvancementsManager.checkForTrackedAdvancement(advancementEntry);
+    }
+    log.debug("Processed batch with {} new advancements.", batchAdvancements.size());
+    batchAdvancements = new ArrayList<>();
+    TrackedAdvancementsManager.endBatch();
+    AdvancementsTrackerScreenPrewarmer.handleBatchCommitted();
   }
 
-  public static boolean hasRootAdvancement(Advancement advancement) {
-    for (AdvancementEntry rootAdvancement : rootAdvancements) {
-      if (advancement.getId() == rootAdvancement.getId()) {
-        return true;
+  public static boolean isBatchMode() {
+    return batchMode;
+  }
+
+  public static Advancement getRootAdvancementOf(Advancement advancement) {
+    if (advancement == null) {
+      return null;
+    }
+    Advancement rootAdvancement = rootAdvancementCache.get(advancement.getId());
+    if (rootAdvancement != null) {
+      return rootAdvancement;
+    }
+
+    // Walk up until we reach the root or an already resolved advancement.
+    List<Advancement> resolvedAdvancements = new ArrayList<>();
+    Advancement currentAdvancement = advancement;
+    while (rootAdvancement == null) {
+      resolvedAdvancements.add(currentAdvancement);
+      Advancement parentAdvancement = currentAdvancement.getParent();
+      if (parentAdvancement == null) {
+        rootAdvancement = currentAdvancement;
+      } else {
+        rootAdvancement = rootAdvancementCache.get(parentAdvancement.getId());
+        currentAdvancement = parentAdvancement;
       }
     }
-    return false;
+
+    // Memorize the root advancement for the whole walked path.
+    for (Advancement resolvedAdvancement : resolvedAdvancements) {
+      rootAdvancementCache.put(resolvedAdvancement.getId(), rootAdvancement);
+    }
+    return rootAdvancement;
   }
 
-  public static AdvancementEntry getRootAdvancement(Advancement advancement) {
-    for (AdvancementEntry rootAdvancement : rootAdvancements) {
-      if (advancement.getId() == rootAdvancement.getId()) {
-        return rootAdvancement;
+  private static void attachPendingChildEntries(AdvancementEntry parentEntry) {
+    List<AdvancementEntry> childEntries = pendingChildEntries.remove(parentEntry.getId());
+    if (childEntries != null) {
+      for (AdvancementEntry childEntry : childEntries) {
+        childEntry.attachTo(parentEntry);
       }
     }
+  }
+
+  private static AdvancementEntry getParentEntry(Advancement advancement) {
+    Advancement parentAdvancement = advancement.getParent();
+    while (parentAdvancement != null) {
+      AdvancementEntry parentEntry = getAdvancementOrRootAdvancement(parentAdvancement.getId());
+      if (parentEntry != null) {
+        return parentEntry;
+      }
+      parentAdvancement = parentAdvancement.getParent();
+    }
     return null;
   }
 
-  public static Set<AdvancementEntry> getRootAdvancements() {
-    return rootAdvancements;
+  public static boolean hasAdvancement(Advancement advancement) {
+    return hasAdvancement(advancement.getId());
   }
 
-  public static Set<AdvancementEntry> getSortedRootAdvancements(
-      Comparator<AdvancementEntry> comparator) {
-    Set<AdvancementEntry> advancements = getRootAdvancements();
-    if (advancements == null) {
-      return new HashSet<>();
-    }
-    return advancements.stream().sorted(comparator)
-        .collect(Collectors.toCollection(LinkedHashSet::new));
+  public static boolean hasAdvancement(String advancementId) {
+    ResourceLocation resourceLocation = ResourceLocation.tryParse(advancementId);
+    return resourceLocation != null && hasAdvancement(resourceLocation);
+  }
+
+  public static boolean hasAdvancement(ResourceLocation advancementId) {
+    return advancementsIndex.containsKey(advancementId)
+        || rootAdvancementsIndex.containsKey(advancementId);
+  }
+
+  public static boolean hasRootAdvancement(Advancement advancement) {
+    return rootAdvancementsIndex.containsKey(advancement.getId());
+  }
+
+  public static AdvancementEntry getRootAdvancement(Advancement advancement) {
+    return getRootAdvancement(advancement.getId());
   }
 
-  public static Set<AdvancementEntry> getRootAdvancementsByTile() {
-    return getSortedRootAdvancements(AdvancementEntry.sortByTitle());
+  public static AdvancementEntry getRootAdvancement(ResourceLocation advancementId) {
+    return rootAdvancementsIndex.get(advancementId);
+  }
+
+  public static Set<AdvancementEntry> getRootAdvancements() {
+    return rootAdvancements.get(SortedAdvancements.SortOrder.INSERTION);
+  }
+
+  public static Set<AdvancementEntry> getSortedRootAdvancements(
+      SortedAdvancements.SortOrder sortOrder) {
+    return rootAdvancements.get(sortOrder);
   }
 
   public static int getNumberOfRootAdvancements() {
@@ -171,79 +309,94 @@ public class AdvancementsManager {
   }
 
   public static int getNumberOfAdvancements(AdvancementEntry rootAdvancement) {
-    Set<AdvancementEntry> advancements = getAdvancements(rootAdvancement);
-    return advancements.size();
+    return getCategoryStats(rootAdvancement).getNumberOfAdvancements();
   }
 
   public static int getNumberOfCompletedAdvancements(AdvancementEntry rootAdvancement) {
-    int completedAdvancements = 0;
-    Set<AdvancementEntry> advancements = getAdvancements(rootAdvancement);
-    for (AdvancementEntry advancementEntry : advancements) {
-      if (advancementEntry.getProgress().isDone()) {
-        completedAdvancements++;
-      }
+    return getCategoryStats(rootAdvancement).getNumberOfCompletedAdvancements();
+  }
+
+  public static AdvancementCategoryStats getCategoryStats(AdvancementEntry rootAdvancement) {
+    if (rootAdvancement == null) {
+      return EMPTY_STATS;
     }
-    return completedAdvancements;
+    AdvancementCategoryStats categoryStats = categoryStatsMap.get(rootAdvancement.getId());
+    return categoryStats != null ? categoryStats : EMPTY_STATS;
   }
 
   public static AdvancementEntry getAdvancement(Advancement advancement) {
-    return getAdvancement(advancement.getId().toString());
+    return getAdvancement(advancement.getId());
   }
 
   public static AdvancementEntry getAdvancement(String id) {
-    for (Set<AdvancementEntry> advancementEntries : advancementsMap.values()) {
-      for (AdvancementEntry advancementEntry : advancementEntries) {
-        if (id.equals(advancementEntry.getIdString())) {
-          return advancementEntry;
-        }
-      }
+    ResourceLocation resourceLocation = ResourceLocation.tryParse(id);
+    return resourceLocation != null ? getAdvancement(resourceLocation) : null;
+  }
+
+  public static AdvancementEntry getAdvancement(ResourceLocation id) {
+    return advancementsIndex.get(id);
+  }
+
+  public static AdvancementEntry getAdvancementOrRootAdvancement(ResourceLocation id) {
+    AdvancementEntry advancementEntry = advancementsIndex.get(id);
+    return advancementEntry != null ? advancementEntry : rootAdvancementsIndex.get(id);
+  }
+
+  public static List<AdvancementEntry> getChildAdvancements(AdvancementEntry advancementEntry) {
+    if (advancementEntry == null) {
+      return Collections.emptyList();
     }
-    return null;
+    return advancementEntry.getChildEntries();
   }
 
   public static Set<AdvancementEntry> getAdvancements(AdvancementEntry rootAdvancement) {
+    return getSortedAdvancements(rootAdvancement, SortedAdvancements.SortOrder.INSERTION);
+  }
+
+  public static Set<AdvancementEntry> getSortedAdvancements(AdvancementEntry rootAdvancement,
+      SortedAdvancements.SortOrder sortOrder) {
     if (rootAdvancement == null) {
       log.error("Unable to get advancements for root advancement {}", rootAdvancement);
-      return new HashSet<>();
+      return Collections.emptySet();
     }
-    Set<AdvancementEntry> advancements = advancementsMap.get(rootAdvancement.getId());
+    SortedAdvancements advancements = advancementsMap.get(rootAdvancement.getId());
     if (advancements == null) {
-      return new HashSet<>();
+      return Collections.emptySet();
     }
-    return advancements;
-  }
-
-  public static Set<AdvancementEntry> getSortedAdvancements(AdvancementEntry rootAdvancement,
-      Comparator<AdvancementEntry> comparator) {
-    Set<AdvancementEntry> advancements = getAdvancements(rootAdvancement);
-    return advancements.isEmpty() ? advancements
-        : advancements.stream().sorted(comparator)
-            .collect(Collectors.toCollection(LinkedHashSet::new));
-  }
-
-  public static Set<AdvancementEntry> getAdvancementsByTile(AdvancementEntry rootAdvancement) {
-    return getSortedAdvancements(rootAdvancement, AdvancementEntry.sortByTitle());
-  }
-
-  public static Set<AdvancementEntry> getAdvancementsByStatus(AdvancementEntry rootAdvancement) {
-    return getSortedAdvancements(rootAdvancement, AdvancementEntry.sortByStatus());
+    return advancements.get(sortOrder);
   }
 
   public static void updateAdvancementProgress(Advancement advancement,
       AdvancementProgress advancementProgress) {
     advancementProgressMap.put(advancement, advancementProgress);
-    AdvancementEntry advancementEntry = getAdvancement(advancement);
+    AdvancementEntry advancementEntry = getAdvancementOrRootAdvancement(advancement.getId());
     if (advancementEntry == null) {
-      advancementEntry = getRootAdvancement(advancement);
-      if (advancementEntry == null) {
-        log.error("Unable to find entry for advancement {} with progress {}", advancement,
-            advancementProgress);
-        return;
-      }
+      log.error("Unable to find entry for advancement {} with progress {}", advancement,
+          advancementProgress);
+      return;
+    }
+    AdvancementEntryProgress entryProgress = advancementEntry.getProgress();
+    boolean wasDone = entryProgress.isDone();
+    SortedAdvancements sortedAdvancements = advancementEntry.isRoot() ? rootAdvancements
+        : advancementsMap.get(advancementEntry.rootId);
+    if (sortedAdvancements != null) {
+      sortedAdvancements.beforeProgressUpdate(advancementEntry);
     }
     advancementEntry.updateAdvancementProgress(advancementProgress);
-    if (advancementProgress.isDone()) {
-      TrackedAdvancementsManager.untrackAdvancement(advancement);
+    if (sortedAdvancements != null) {
+      sortedAdvancements.afterProgressUpdate(advancementEntry);
+    }
+    AdvancementsFilterIndex.update(advancementEntry);
+
+    // Only update the stats for actual state transitions of child advancements.
+    if (!advancementEntry.isRoot() && wasDone != entryProgress.isDone()) {
+      AdvancementCategoryStats categoryStats = categoryStatsMap.get(advancementEntry.rootId);
+      if (categoryStats != null) {
+        categoryStats.updateAdvancement(entryProgress.isDone());
+      }
+    }
+    if (advancementProgress.isDone() && advancementEntry.isTracked()) {
+      TrackedAdvancementsManager.untrackAdvancement(advancementEntry);
     }
   }
 
@@ -266,9 +419,8 @@ public class AdvancementsManager {
   }
 
   public static AdvancementEntry getSelectedRootAdvancement() {
-    if (selectedRootAdvancement == null && rootAdvancements != null
-        && rootAdvancements.iterator().hasNext()) {
-      AdvancementEntry possibleRootAdvancement = rootAdvancements.iterator().next();
+    if (selectedRootAdvancement == null && !rootAdvancements.isEmpty()) {
+      AdvancementEntry possibleRootAdvancement = getRootAdvancements().iterator().next();
       if (possibleRootAdvancement != selectedRootAdvancement) {
         log.debug("Select root advancement: {}", selectedAdvancement);
         selectedRootAdvancement = possibleRootAdvancement;
@@ -281,7 +433,7 @@ public class AdvancementsManager {
   public static void setSelectedRootAdvancement(AdvancementEntry selectedRootAdvancement) {
     AdvancementsManager.selectedRootAdvancement = selectedRootAdvancement;
     if (selectedAdvancement != null
-        && selectedRootAdvancement.getId() != selectedAdvancement.rootId) {
+        && !selectedRootAdvancement.getId().equals(selectedAdvancement.rootId)) {
       selectedAdvancement = null;
     }
   }
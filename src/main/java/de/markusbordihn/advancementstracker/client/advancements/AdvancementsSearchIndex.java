@@ -0,0 +1,205 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.advancements;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.StringUtil;
+
+import de.markusbordihn.advancementstracker.Constants;
+
+/**
+ * Incremental full-text index over the titles, descriptions, criteria and reward ids of all
+ * advancement tasks. Longer search terms are matched over a trigram index, short search terms
+ * over the prefixes of the indexed tokens.
+ */
+public class AdvancementsSearchIndex {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final int TRIGRAM_LENGTH = 3;
+
+  private static List<AdvancementEntry> documents = new ArrayList<>();
+  private static List<String> documentTexts = new ArrayList<>();
+  private static Map<ResourceLocation, Integer> documentIds = new HashMap<>();
+  private static Map<Long, BitSet> trigramIndex = new HashMap<>();
+  private static NavigableMap<String, BitSet> tokenIndex = new TreeMap<>();
+
+  protected AdvancementsSearchIndex() {}
+
+  public static void reset() {
+    documents = new ArrayList<>();
+    documentTexts = new ArrayList<>();
+    documentIds = new HashMap<>();
+    trigramIndex = new HashMap<>();
+    tokenIndex = new TreeMap<>();
+  }
+
+  public static void add(AdvancementEntry advancementEntry) {
+    if (documentIds.containsKey(advancementEntry.getId())) {
+      return;
+    }
+    int documentId = documents.size();
+    documents.add(advancementEntry);
+    documentIds.put(advancementEntry.getId(), documentId);
+    advancementEntry.documentId = documentId;
+
+    // Collect all searchable texts as normalized tokens.
+    StringBuilder documentText = new StringBuilder();
+    appendTokens(documentText, advancementEntry.getTitleString());
+    appendTokens(documentText, advancementEntry.getDescriptionString());
+    for (String criterion : advancementEntry.getAdvancement().getCriteria().keySet()) {
+      appendTokens(documentText, criterion);
+    }
+    if (advancementEntry.hasLootReward()) {
+      appendTokens(documentText, advancementEntry.getRewardsLoot());
+    }
+    if (advancementEntry.hasRecipesReward()) {
+      appendTokens(documentText, advancementEntry.getRewardsRecipes());
+    }
+    documentTexts.add(documentText.toString());
+
+    // Index tokens and trigrams.
+    for (String token : documentText.toString().split(" ")) {
+      if (token.isEmpty()) {
+        continue;
+      }
+      tokenIndex.computeIfAbsent(token, key -> new BitSet()).set(documentId);
+      for (int i = 0; i + TRIGRAM_LENGTH <= token.length(); i++) {
+        trigramIndex.computeIfAbsent(getTrigram(token, i), key -> new BitSet()).set(documentId);
+      }
+    }
+  }
+
+  /**
+   * Searches for advancements, which are matching all terms of the query.
+   *
+   * @return matching document ids or null, if the query has no search terms
+   */
+  public static BitSet search(String query) {
+    StringBuilder queryText = new StringBuilder();
+    appendTokens(queryText, query);
+    BitSet result = null;
+    for (String term : queryText.toString().split(" ")) {
+      if (term.isEmpty()) {
+        continue;
+      }
+      BitSet termResult = term.length() < TRIGRAM_LENGTH ? searchPrefix(term) : searchTerm(term);
+      if (result == null) {
+        result = termResult;
+      } else {
+        result.and(termResult);
+      }
+      if (result.isEmpty()) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  public static AdvancementEntry getDocument(int documentId) {
+    return documents.get(documentId);
+  }
+
+  public static int getDocumentId(AdvancementEntry advancementEntry) {
+    Integer documentId = documentIds.get(advancementEntry.getId());
+    return documentId != null ? documentId : -1;
+  }
+
+  public static int size() {
+    return documents.size();
+  }
+
+  private static BitSet searchPrefix(String prefix) {
+    BitSet result = new BitSet();
+    for (BitSet documentIdSet : tokenIndex
+        .subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+      result.or(documentIdSet);
+    }
+    return result;
+  }
+
+  private static BitSet searchTerm(String term) {
+    // Intersect the documents of all trigrams and verify the remaining candidates.
+    BitSet result = null;
+    for (int i = 0; i + TRIGRAM_LENGTH <= term.length(); i++) {
+      BitSet documentIdSet = trigramIndex.get(getTrigram(term, i));
+      if (documentIdSet == null) {
+        return new BitSet();
+      }
+      if (result == null) {
+        result = (BitSet) documentIdSet.clone();
+      } else {
+        result.and(documentIdSet);
+      }
+    }
+    int documentId = result.nextSetBit(0);
+    while (documentId >= 0) {
+      if (!documentTexts.get(documentId).contains(term)) {
+        result.clear(documentId);
+      }
+      documentId = result.nextSetBit(documentId + 1);
+    }
+    return result;
+  }
+
+  private static long getTrigram(String token, int index) {
+    return ((long) token.charAt(index) << 32) | ((long) token.charAt(index + 1) << 16)
+        | token.charAt(index + 2);
+  }
+
+  private static void appendTokens(StringBuilder stringBuilder, ResourceLocation[] values) {
+    for (ResourceLocation value : values) {
+      appendTokens(stringBuilder, value.toString());
+    }
+  }
+
+  private static void appendTokens(StringBuilder stringBuilder, String value) {
+    if (value == null) {
+      return;
+    }
+    String normalizedValue = StringUtil.stripColor(value).toLowerCase(Locale.ROOT);
+    boolean separator = true;
+    for (int i = 0; i < normalizedValue.length(); i++) {
+      char character = normalizedValue.charAt(i);
+      if (Character.isLetterOrDigit(character)) {
+        if (separator && !stringBuilder.isEmpty()) {
+          stringBuilder.append(' ');
+        }
+        stringBuilder.append(character);
+        separator = false;
+      } else {
+        separator = true;
+      }
+    }
+  }
+
+}
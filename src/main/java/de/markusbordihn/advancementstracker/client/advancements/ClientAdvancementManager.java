@@ -19,6 +19,11 @@
 
 package de.markusbordihn.advancementstracker.client.advancements;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -37,6 +42,8 @@ import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 
 import de.markusbordihn.advancementstracker.Constants;
 import de.markusbordihn.advancementstracker.client.gui.screens.AdvancementsTrackerScreen;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics.Metric;
 
 @EventBusSubscriber(Dist.CLIENT)
 public class ClientAdvancementManager implements ClientAdvancements.Listener {
@@ -51,6 +58,12 @@ public class ClientAdvancementManager implements ClientAdvancements.Listener {
   private static boolean needsReload = false;
   private static int listenerTicks = 0;
 
+  // Listener callbacks are buffered and committed as single batch once per tick.
+  private static List<Advancement> pendingRootAdvancements = new ArrayList<>();
+  private static List<Advancement> pendingTaskAdvancements = new ArrayList<>();
+  private static Map<Advancement, AdvancementProgress> pendingAdvancementProgress =
+      new LinkedHashMap<>();
+
   protected ClientAdvancementManager() {}
 
   @SubscribeEvent
@@ -74,6 +87,9 @@ public class ClientAdvancementManager implements ClientAdvancements.Listener {
       listenerTicks = 0;
     }
 
+    // Commit all listener callbacks of the last tick as single batch.
+    commitPendingAdvancements();
+
     // Other advancements screen will remove the event listener, for this reason we need to check
     // if we need to reload the advancements after such advancements screen was open.
     Minecraft minecraft = Minecraft.getInstance();
@@ -99,6 +115,44 @@ public class ClientAdvancementManager implements ClientAdvancements.Listener {
     hasListener = false;
     listenerTicks = 0;
     needsReload = false;
+    pendingRootAdvancements = new ArrayList<>();
+    pendingTaskAdvancements = new ArrayList<>();
+    pendingAdvancementProgress = new LinkedHashMap<>();
+  }
+
+  private static void commitPendingAdvancements() {
+    if (pendingRootAdvancements.isEmpty() && pendingTaskAdvancements.isEmpty()
+        && pendingAdvancementProgress.isEmpty()) {
+      return;
+    }
+    log.debug("Commit batch with {} root advancements, {} advancement tasks and {} updates ...",
+        pendingRootAdvancements.size(), pendingTaskAdvancements.size(),
+        pendingAdvancementProgress.size());
+    long startTime = PerformanceMetrics.start();
+    List<Advancement> rootAdvancements = pendingRootAdvancements;
+    List<Advancement> taskAdvancements = pendingTaskAdvancements;
+    Map<Advancement, AdvancementProgress> advancementProgress = pendingAdvancementProgress;
+    pendingRootAdvancements = new ArrayList<>();
+    pendingTaskAdvancements = new ArrayList<>();
+    pendingAdvancementProgress = new LinkedHashMap<>();
+
+    AdvancementsManager.beginBatch();
+    try {
+      for (Advancement advancement : rootAdvancements) {
+        AdvancementsManager.addAdvancementRoot(advancement);
+      }
+      for (Advancement advancement : taskAdvancements) {
+        AdvancementsManager.addAdvancementTask(advancement);
+      }
+      for (Map.Entry<Advancement, AdvancementProgress> progressEntry : advancementProgress
+          .entrySet()) {
+        AdvancementsManager.updateAdvancementProgress(progressEntry.getKey(),
+            progressEntry.getValue());
+      }
+    } finally {
+      AdvancementsManager.endBatch();
+    }
+    PerformanceMetrics.stop(Metric.INGEST_BATCH, startTime);
   }
 
   public static void addListener() {
@@ -112,9 +166,12 @@ public class ClientAdvancementManager implements ClientAdvancements.Listener {
       return;
     }
     log.debug("Adding client advancement manager listener...");
+    // Setting the listener replays all known advancements and progress as callbacks.
+    long startTime = PerformanceMetrics.start();
     clientAdvancements = minecraft.player.connection.getAdvancements();
     minecraft.player.connection.getAdvancements().setListener(clientAdvancementManager);
     hasListener = true;
+    PerformanceMetrics.stop(Metric.RESYNC, startTime);
   }
 
   public static boolean isValidAdvancement(Advancement advancement) {
@@ -132,42 +189,49 @@ public class ClientAdvancementManager implements ClientAdvancements.Listener {
   @Override
   public void onUpdateAdvancementProgress(Advancement advancement,
       AdvancementProgress advancementProgress) {
+    long startTime = PerformanceMetrics.start();
     if (isValidAdvancement(advancement)) {
       log.debug("[Update Advancement Progress] {} with {}", advancement, advancementProgress);
-      AdvancementsManager.updateAdvancementProgress(advancement, advancementProgress);
+      pendingAdvancementProgress.put(advancement, advancementProgress);
     }
+    PerformanceMetrics.stop(Metric.LISTENER_CALLBACK, startTime);
   }
 
   @Override
   public void onAddAdvancementRoot(Advancement advancement) {
+    long startTime = PerformanceMetrics.start();
     if (isValidAdvancement(advancement) && advancement.getParent() == null) {
       log.debug("[Add Advancement Root] {}", advancement);
-      AdvancementsManager.addAdvancementRoot(advancement);
+      pendingRootAdvancements.add(advancement);
     }
+    PerformanceMetrics.stop(Metric.LISTENER_CALLBACK, startTime);
   }
 
   @Override
   public void onRemoveAdvancementRoot(Advancement advancement) {
-    // Not used.
+    // Not used, the advancement and its icon are kept until the next reset.
     log.debug("[Remove Advancement Root] {}", advancement);
   }
 
   @Override
   public void onAddAdvancementTask(Advancement advancement) {
+    long startTime = PerformanceMetrics.start();
     if (isValidAdvancement(advancement) && advancement.getParent() != null) {
       log.debug("[Add Advancement Task] {}", advancement);
-      AdvancementsManager.addAdvancementTask(advancement);
+      pendingTaskAdvancements.add(advancement);
     }
+    PerformanceMetrics.stop(Metric.LISTENER_CALLBACK, startTime);
   }
 
   @Override
   public void onRemoveAdvancementTask(Advancement advancement) {
+    // Not used, the advancement and its icon are kept until the next reset.
     log.debug("[Remove Advancement Task] {}", advancement);
   }
 
   @Override
   public void onAdvancementsCleared() {
-    // Not used.
+    // Not used, the advancements are sent again and matched against the existing entries.
     log.debug("[Advancements Cleared] ...");
   }
 
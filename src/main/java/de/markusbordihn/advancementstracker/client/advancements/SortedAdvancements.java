@@ -0,0 +1,132 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.advancements;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class SortedAdvancements {
+
+  public enum SortOrder {
+    INSERTION, TITLE, TITLE_REVERSED, STATUS, PROGRESS, LAST_PROGRESS
+  }
+
+  // Insertion order is stable and independent of the hash codes of the entries.
+  private final Set<AdvancementEntry> byInsertion = new LinkedHashSet<>();
+
+  // Sorted indexes which are updated on insert and on progress changes.
+  private final NavigableSet<AdvancementEntry> byTitle =
+      new TreeSet<>(AdvancementEntry.sortByTitle());
+  private final NavigableSet<AdvancementEntry> byStatus =
+      new TreeSet<>(AdvancementEntry.sortByStatus());
+  private final NavigableSet<AdvancementEntry> byProgress =
+      new TreeSet<>(AdvancementEntry.sortByProgress());
+  private final NavigableSet<AdvancementEntry> byLastProgress =
+      new TreeSet<>(AdvancementEntry.sortByLastProgress());
+
+  // Read-only views, which are created once and reflect all later changes.
+  private final Map<SortOrder, Set<AdvancementEntry>> views = new EnumMap<>(SortOrder.class);
+
+  // Deferred sorted indexes are only build once on commit, e.g. for batched updates.
+  private boolean deferred = false;
+
+  SortedAdvancements() {
+    views.put(SortOrder.INSERTION, Collections.unmodifiableSet(byInsertion));
+    views.put(SortOrder.TITLE, Collections.unmodifiableNavigableSet(byTitle));
+    views.put(SortOrder.TITLE_REVERSED,
+        Collections.unmodifiableNavigableSet(byTitle.descendingSet()));
+    views.put(SortOrder.STATUS, Collections.unmodifiableNavigableSet(byStatus));
+    views.put(SortOrder.PROGRESS, Collections.unmodifiableNavigableSet(byProgress));
+    views.put(SortOrder.LAST_PROGRESS, Collections.unmodifiableNavigableSet(byLastProgress));
+  }
+
+  void add(AdvancementEntry advancementEntry) {
+    if (!byInsertion.add(advancementEntry) || deferred) {
+      return;
+    }
+    byTitle.add(advancementEntry);
+    addProgressDependent(advancementEntry);
+  }
+
+  void defer() {
+    this.deferred = true;
+  }
+
+  void commit() {
+    if (!this.deferred) {
+      return;
+    }
+    this.deferred = false;
+    byTitle.clear();
+    byStatus.clear();
+    byProgress.clear();
+    byLastProgress.clear();
+    for (AdvancementEntry advancementEntry : byInsertion) {
+      byTitle.add(advancementEntry);
+      addProgressDependent(advancementEntry);
+    }
+  }
+
+  /**
+   * Needs to be called before the progress of the entry changes, because the sorted sets are not
+   * able to find entries with outdated sort keys.
+   */
+  void beforeProgressUpdate(AdvancementEntry advancementEntry) {
+    if (!deferred && byInsertion.contains(advancementEntry)) {
+      byStatus.remove(advancementEntry);
+      byProgress.remove(advancementEntry);
+      byLastProgress.remove(advancementEntry);
+    }
+  }
+
+  void afterProgressUpdate(AdvancementEntry advancementEntry) {
+    if (!deferred && byInsertion.contains(advancementEntry)) {
+      addProgressDependent(advancementEntry);
+    }
+  }
+
+  private void addProgressDependent(AdvancementEntry advancementEntry) {
+    byStatus.add(advancementEntry);
+    byProgress.add(advancementEntry);
+    byLastProgress.add(advancementEntry);
+  }
+
+  public Set<AdvancementEntry> get(SortOrder sortOrder) {
+    return views.get(sortOrder != null ? sortOrder : SortOrder.INSERTION);
+  }
+
+  public boolean contains(AdvancementEntry advancementEntry) {
+    return byInsertion.contains(advancementEntry);
+  }
+
+  public boolean isEmpty() {
+    return byInsertion.isEmpty();
+  }
+
+  public int size() {
+    return byInsertion.size();
+  }
+
+}
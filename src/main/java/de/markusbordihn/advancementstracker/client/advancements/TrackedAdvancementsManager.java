@@ -20,10 +20,13 @@
 package de.markusbordihn.advancementstracker.client.advancements;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,6 +36,8 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ServerData;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.GameShuttingDownEvent;
 import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
@@ -40,17 +45,36 @@ import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import de.markusbordihn.advancementstracker.Constants;
 import de.markusbordihn.advancementstracker.client.gui.widget.AdvancementsTrackerWidget;
 import de.markusbordihn.advancementstracker.config.ClientConfig;
+import de.markusbordihn.advancementstracker.utils.DebouncedWriter;
 
 @EventBusSubscriber(Dist.CLIENT)
 public class TrackedAdvancementsManager {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
-  private static Set<AdvancementEntry> trackedAdvancements = new HashSet<>();
+  // Tracked advancements by id in the order they have been tracked.
+  private static Map<ResourceLocation, AdvancementEntry> trackedAdvancements =
+      new LinkedHashMap<>();
+  private static Map<ResourceLocation, Integer> trackedAdvancementsPerRoot = new HashMap<>();
+  private static volatile TrackedAdvancementsSnapshot trackedAdvancementsSnapshot =
+      TrackedAdvancementsSnapshot.EMPTY;
   private static List<String> trackedAdvancementsDefault = new ArrayList<>();
-  private static List<String> trackedAdvancementsLocal = new ArrayList<>();
-  private static List<String> trackedAdvancementsRemote = new ArrayList<>();
+  private static List<String> trackedAdvancementsUser = new ArrayList<>();
+  private static TrackedAdvancementsMatcher trackedAdvancementsMatcher =
+      TrackedAdvancementsMatcher.EMPTY;
   private static String serverId;
+  private static String storeKey = TrackedAdvancementsStore.getKey(null);
+
+  // Batch mode, which defers saving and widget updates until the end of the batch.
+  private static boolean batchMode = false;
+  private static boolean needsSave = false;
+  private static boolean needsWidgetUpdate = false;
+
+  // Write-behind persistence, which coalesces multiple changes into a single write.
+  private static final DebouncedWriter trackedAdvancementsWriter =
+      new DebouncedWriter("tracked advancements", 1, TimeUnit.SECONDS,
+          TrackedAdvancementsManager::writeTrackedAdvancements);
+  private static volatile TrackedAdvancementsState trackedAdvancementsState = null;
 
   protected TrackedAdvancementsManager() {}
 
@@ -61,6 +85,9 @@ public class TrackedAdvancementsManager {
       return;
     }
 
+    // Make sure that pending changes for the previous server / world are written first.
+    trackedAdvancementsWriter.flush();
+
     Minecraft minecraft = Minecraft.getInstance();
     ServerData serverData = minecraft != null ? minecraft.getCurrentServer() : null;
     if (serverData != null) {
@@ -69,7 +96,12 @@ public class TrackedAdvancementsManager {
     } else {
       serverId = null;
     }
-    trackedAdvancements = new HashSet<>();
+    trackedAdvancements = new LinkedHashMap<>();
+    trackedAdvancementsPerRoot = new HashMap<>();
+    publishSnapshot();
+    batchMode = false;
+    needsSave = false;
+    needsWidgetUpdate = false;
     log.info("Preparing tracked advancements ...");
 
     // Loading default (over config file) tracked advancements.
@@ -78,63 +110,48 @@ public class TrackedAdvancementsManager {
       log.info("Loading default (config) tracked advancements: {}", trackedAdvancementsDefault);
     }
 
-    // Loading local (user) tracked advancements.
-    trackedAdvancementsLocal = ClientConfig.CLIENT.trackedAdvancementsLocal.get();
-    if (!trackedAdvancementsLocal.isEmpty()) {
-      log.info("Loading local (user) tracked advancements: {}", trackedAdvancementsLocal);
+    // Loading user tracked advancements, only for the current server or local worlds.
+    TrackedAdvancementsStore.migrateLegacyConfig();
+    storeKey = TrackedAdvancementsStore.getKey(serverId);
+    trackedAdvancementsUser = TrackedAdvancementsStore.load(storeKey);
+    if (!trackedAdvancementsUser.isEmpty()) {
+      log.info("Loading {} tracked advancements: {}", storeKey, trackedAdvancementsUser);
     }
 
-    // Loading remote tracked advancements, if we are connected to a server.
-    if (serverId != null) {
-      trackedAdvancementsRemote = ClientConfig.CLIENT.trackedAdvancementsRemote.get();
-      if (!trackedAdvancementsRemote.isEmpty()) {
-        log.info("Loading remote ({}) tracked advancements: {} ...", serverId,
-            trackedAdvancementsRemote);
-      }
-    }
+    // Compile all tracked advancements once, to avoid linear lookups per advancement.
+    trackedAdvancementsMatcher =
+        TrackedAdvancementsMatcher.compile(trackedAdvancementsDefault, trackedAdvancementsUser);
+    log.debug("Compiled tracked advancements: {}", trackedAdvancementsMatcher);
+
     updateTrackerWidget();
   }
 
+  @SubscribeEvent
+  public static void handleClientPlayerNetworkEventLoggingOut(
+      ClientPlayerNetworkEvent.LoggingOut event) {
+    trackedAdvancementsWriter.flush();
+  }
+
+  @SubscribeEvent
+  public static void handleGameShuttingDownEvent(GameShuttingDownEvent event) {
+    trackedAdvancementsWriter.flush();
+  }
+
   public static void checkForTrackedAdvancement(AdvancementEntry advancement) {
     // Ignore advancements which are done.
     if (advancement.getProgress().isDone()) {
       return;
     }
+    String advancementId = advancement.getIdString();
     AdvancementEntry trackedAdvancement = null;
 
-    // Check first for default tracked advancement
-    if (!trackedAdvancementsDefault.isEmpty()) {
-      for (String trackedAdvancementDefault : trackedAdvancementsDefault) {
-        if (advancement.getIdString().equals(trackedAdvancementDefault)) {
-          log.debug("Adding default tracked advancement {}", advancement);
-          trackedAdvancement = advancement;
-          break;
-        }
-      }
-    }
-
-    // Check for remote tracked advancement
-    if (!trackedAdvancementsRemote.isEmpty() && serverId != null) {
-      for (String cachedAdvancementEntry : trackedAdvancementsRemote) {
-        if (!cachedAdvancementEntry.isEmpty() && !"".equals(cachedAdvancementEntry)
-            && cachedAdvancementEntry.startsWith(serverId)
-            && advancement.getIdString().equals(cachedAdvancementEntry.split("::", 2)[1])) {
-          log.debug("Adding remote tracked advancement {}", advancement);
-          trackedAdvancement = advancement;
-          break;
-        }
-      }
-    }
-
-    // Check for local tracked advancement
-    if (!trackedAdvancementsLocal.isEmpty() && serverId == null) {
-      for (String cachedAdvancementEntry : trackedAdvancementsLocal) {
-        if (advancement.getIdString().equals(cachedAdvancementEntry)) {
-          log.debug("Adding local tracked advancement {}", advancement);
-          trackedAdvancement = advancement;
-          break;
-        }
-      }
+    // Check first for default tracked advancement, including wildcard patterns.
+    if (trackedAdvancementsMatcher.isDefaultTrackedAdvancement(advancementId)) {
+      log.debug("Adding default tracked advancement {}", advancement);
+      trackedAdvancement = advancement;
+    } else if (trackedAdvancementsMatcher.isUserTrackedAdvancement(advancementId)) {
+      log.debug("Adding {} tracked advancement {}", storeKey, advancement);
+      trackedAdvancement = advancement;
     }
 
     if (trackedAdvancement != null) {
@@ -163,59 +180,57 @@ public class TrackedAdvancementsManager {
       log.warn("Advancement {} is already done, no need to track it.", advancement);
       return;
     }
-    for (AdvancementEntry trackedAdvancementEntry : trackedAdvancements) {
-      if (trackedAdvancementEntry.getId() == advancement.getId()) {
-        log.warn("Advancement {} is already tracked.", advancement);
-        return;
-      }
+    if (trackedAdvancements.containsKey(advancement.getId())) {
+      log.warn("Advancement {} is already tracked.", advancement);
+      return;
     }
     log.info("Track Advancement {}", advancement);
-    trackedAdvancements.add(advancement);
+    trackedAdvancements.put(advancement.getId(), advancement);
+    trackedAdvancementsPerRoot.merge(advancement.rootId, 1, Integer::sum);
+    AdvancementsFilterIndex.update(advancement);
+    publishSnapshot();
     if (autosave) {
       saveTrackedAdvancements();
     }
     updateTrackerWidget();
   }
 
-  private static void saveTrackedAdvancements() {
-    saveTrackedAdvancementsRemote();
-    saveTrackedAdvancementsLocal();
+  static void beginBatch() {
+    batchMode = true;
   }
 
-  private static void saveTrackedAdvancementsRemote() {
-    if (serverId == null) {
-      return;
+  static void endBatch() {
+    batchMode = false;
+    if (needsSave) {
+      saveTrackedAdvancements();
     }
-    List<String> trackedAdvancementsToSave = new ArrayList<>();
-    // Adding existing entries, but ignore entries for current server.
-    for (String trackedAdvancementRemote : trackedAdvancementsRemote) {
-      if (!trackedAdvancementRemote.isEmpty() && !"".equals(trackedAdvancementRemote)
-          && !trackedAdvancementRemote.startsWith(serverId)) {
-        trackedAdvancementsToSave.add(trackedAdvancementRemote);
-      }
+    if (needsWidgetUpdate) {
+      updateTrackerWidget();
     }
-    // Adding entries for current server.
-    for (AdvancementEntry trackedAdvancementEntry : trackedAdvancements) {
-      trackedAdvancementsToSave.add(serverId + trackedAdvancementEntry.getIdString());
+  }
+
+  private static void saveTrackedAdvancements() {
+    if (batchMode) {
+      needsSave = true;
+      return;
     }
-    ClientConfig.CLIENT.trackedAdvancementsRemote
-        .set(trackedAdvancementsToSave.stream().distinct().collect(Collectors.toList()));
-    trackedAdvancementsRemote = ClientConfig.CLIENT.trackedAdvancementsRemote.get();
-    ClientConfig.CLIENT.trackedAdvancements.save();
+    needsSave = false;
+    // Only capture the immutable state here, the store is written by the background writer.
+    trackedAdvancementsState =
+        new TrackedAdvancementsState(storeKey, trackedAdvancementsSnapshot);
+    trackedAdvancementsWriter.markDirty();
   }
 
-  private static void saveTrackedAdvancementsLocal() {
-    if (serverId != null) {
+  private static void writeTrackedAdvancements() {
+    TrackedAdvancementsState state = trackedAdvancementsState;
+    if (state == null) {
       return;
     }
     List<String> trackedAdvancementsToSave = new ArrayList<>();
-    for (AdvancementEntry trackedAdvancementEntry : trackedAdvancements) {
+    for (AdvancementEntry trackedAdvancementEntry : state.snapshot().getAdvancements()) {
       trackedAdvancementsToSave.add(trackedAdvancementEntry.getIdString());
     }
-    ClientConfig.CLIENT.trackedAdvancementsLocal
-        .set(trackedAdvancementsToSave.stream().distinct().collect(Collectors.toList()));
-    trackedAdvancementsLocal = ClientConfig.CLIENT.trackedAdvancementsLocal.get();
-    ClientConfig.CLIENT.trackedAdvancements.save();
+    TrackedAdvancementsStore.save(state.storeKey(), trackedAdvancementsToSave);
   }
 
   public static void untrackAdvancement(Advancement advancement) {
@@ -227,15 +242,14 @@ public class TrackedAdvancementsManager {
   }
 
   public static void untrackAdvancement(ResourceLocation advancementId) {
-    AdvancementEntry existingAdvancementEntry = null;
-    for (AdvancementEntry trackedAdvancementEntry : trackedAdvancements) {
-      if (trackedAdvancementEntry.getId() == advancementId) {
-        existingAdvancementEntry = trackedAdvancementEntry;
-        break;
-      }
-    }
+    AdvancementEntry existingAdvancementEntry = trackedAdvancements.remove(advancementId);
     if (existingAdvancementEntry != null) {
-      trackedAdvancements.remove(existingAdvancementEntry);
+      trackedAdvancementsPerRoot.computeIfPresent(existingAdvancementEntry.rootId,
+          (rootId, numberOfTrackedAdvancements) -> numberOfTrackedAdvancements > 1
+              ? numberOfTrackedAdvancements - 1
+              : null);
+      AdvancementsFilterIndex.update(existingAdvancementEntry);
+      publishSnapshot();
       saveTrackedAdvancements();
       updateTrackerWidget();
     }
@@ -245,15 +259,12 @@ public class TrackedAdvancementsManager {
     return trackedAdvancements.size();
   }
 
-  public static boolean hasTrackedAdvancement(AdvancementEntry advancementEntry) {
-    ResourceLocation rootAdvancementId = advancementEntry.getId();
-    for (AdvancementEntry trackedAdvancementEntry : trackedAdvancements) {
-      if (trackedAdvancementEntry.rootAdvancement != null
-          && trackedAdvancementEntry.rootAdvancement.getId() == rootAdvancementId) {
-        return true;
-      }
-    }
-    return false;
+  public static int numOfTrackedAdvancements(AdvancementEntry rootAdvancementEntry) {
+    return trackedAdvancementsPerRoot.getOrDefault(rootAdvancementEntry.getId(), 0);
+  }
+
+  public static boolean hasTrackedAdvancement(AdvancementEntry rootAdvancementEntry) {
+    return trackedAdvancementsPerRoot.containsKey(rootAdvancementEntry.getId());
   }
 
   public static boolean hasTrackedAdvancements() {
@@ -261,24 +272,38 @@ public class TrackedAdvancementsManager {
   }
 
   public static boolean isTrackedAdvancement(AdvancementEntry advancementEntry) {
-    return isTrackedAdvancement(advancementEntry.getAdvancement());
+    return trackedAdvancements.containsKey(advancementEntry.getId());
   }
 
   public static boolean isTrackedAdvancement(Advancement advancement) {
-    for (AdvancementEntry trackedAdvancementEntry : trackedAdvancements) {
-      if (trackedAdvancementEntry.getId() == advancement.getId()) {
-        return true;
-      }
-    }
-    return false;
+    return trackedAdvancements.containsKey(advancement.getId());
+  }
+
+  public static Collection<AdvancementEntry> getTrackedAdvancements() {
+    return Collections.unmodifiableCollection(trackedAdvancements.values());
+  }
+
+  public static TrackedAdvancementsSnapshot getTrackedAdvancementsSnapshot() {
+    return trackedAdvancementsSnapshot;
   }
 
-  public static Set<AdvancementEntry> getTrackedAdvancements() {
-    return trackedAdvancements;
+  private static void publishSnapshot() {
+    // Replace the immutable snapshot as a whole, so that readers never see partial changes.
+    trackedAdvancementsSnapshot =
+        TrackedAdvancementsSnapshot.of(trackedAdvancements.values(), trackedAdvancementsSnapshot);
   }
 
   private static void updateTrackerWidget() {
+    if (batchMode) {
+      needsWidgetUpdate = true;
+      return;
+    }
+    needsWidgetUpdate = false;
     AdvancementsTrackerWidget.updateTrackedAdvancements();
   }
 
+  private record TrackedAdvancementsState(String storeKey,
+      TrackedAdvancementsSnapshot snapshot) {
+  }
+
 }
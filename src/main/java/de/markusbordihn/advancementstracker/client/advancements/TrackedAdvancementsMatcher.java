@@ -0,0 +1,100 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.advancements;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.utils.PrefixTrie;
+
+public class TrackedAdvancementsMatcher {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  public static final TrackedAdvancementsMatcher EMPTY = new TrackedAdvancementsMatcher();
+
+  private static final char WILDCARD = '*';
+
+  private final Set<String> defaultAdvancements = new HashSet<>();
+  private final PrefixTrie defaultAdvancementPatterns = new PrefixTrie();
+  private final Set<String> userAdvancements = new HashSet<>();
+
+  private TrackedAdvancementsMatcher() {}
+
+  /**
+   * Compiles the default (config) and user (per server or local) tracked advancements into hash
+   * sets and a prefix trie.
+   */
+  public static TrackedAdvancementsMatcher compile(List<String> defaultAdvancements,
+      List<String> userAdvancements) {
+    TrackedAdvancementsMatcher matcher = new TrackedAdvancementsMatcher();
+    for (String defaultAdvancement : defaultAdvancements) {
+      matcher.addDefaultAdvancement(defaultAdvancement);
+    }
+    for (String userAdvancement : userAdvancements) {
+      matcher.addUserAdvancement(userAdvancement);
+    }
+    return matcher;
+  }
+
+  private void addDefaultAdvancement(String advancementId) {
+    if (advancementId == null || advancementId.isBlank()) {
+      return;
+    }
+    int wildcardPosition = advancementId.indexOf(WILDCARD);
+    if (wildcardPosition < 0) {
+      this.defaultAdvancements.add(advancementId);
+    } else if (wildcardPosition == advancementId.length() - 1) {
+      // Patterns like "mymod:*" or "mymod:quests/*" are matched by their prefix.
+      this.defaultAdvancementPatterns.add(advancementId.substring(0, wildcardPosition));
+    } else {
+      log.warn("Ignore tracked advancement pattern {}, only a trailing {} is supported!",
+          advancementId, WILDCARD);
+    }
+  }
+
+  private void addUserAdvancement(String advancementId) {
+    if (advancementId != null && !advancementId.isBlank()) {
+      this.userAdvancements.add(advancementId);
+    }
+  }
+
+  public boolean isDefaultTrackedAdvancement(String advancementId) {
+    return this.defaultAdvancements.contains(advancementId)
+        || (!this.defaultAdvancementPatterns.isEmpty()
+            && this.defaultAdvancementPatterns.matches(advancementId));
+  }
+
+  public boolean isUserTrackedAdvancement(String advancementId) {
+    return this.userAdvancements.contains(advancementId);
+  }
+
+  @Override
+  public String toString() {
+    return "TrackedAdvancementsMatcher{default:" + this.defaultAdvancements.size() + ", patterns:"
+        + this.defaultAdvancementPatterns.size() + ", user:" + this.userAdvancements.size() + "}";
+  }
+
+}
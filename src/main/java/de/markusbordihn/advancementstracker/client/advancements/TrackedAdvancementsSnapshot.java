@@ -0,0 +1,67 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.advancements;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public final class TrackedAdvancementsSnapshot {
+
+  public static final TrackedAdvancementsSnapshot EMPTY =
+      new TrackedAdvancementsSnapshot(Collections.emptyList(), 0);
+
+  private final List<AdvancementEntry> advancements;
+  private final int version;
+
+  private TrackedAdvancementsSnapshot(List<AdvancementEntry> advancements, int version) {
+    this.advancements = advancements;
+    this.version = version;
+  }
+
+  static TrackedAdvancementsSnapshot of(Collection<AdvancementEntry> advancements,
+      TrackedAdvancementsSnapshot previousSnapshot) {
+    return new TrackedAdvancementsSnapshot(List.copyOf(advancements),
+        previousSnapshot.version + 1);
+  }
+
+  public List<AdvancementEntry> getAdvancements() {
+    return this.advancements;
+  }
+
+  public AdvancementEntry get(int index) {
+    return this.advancements.get(index);
+  }
+
+  public int size() {
+    return this.advancements.size();
+  }
+
+  public boolean isEmpty() {
+    return this.advancements.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "TrackedAdvancementsSnapshot{version:" + this.version + ", advancements:"
+        + this.advancements + "}";
+  }
+
+}
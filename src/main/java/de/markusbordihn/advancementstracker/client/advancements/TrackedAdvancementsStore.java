@@ -0,0 +1,172 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.advancements;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.config.ClientConfig;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics.Metric;
+
+public class TrackedAdvancementsStore {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final String LOCAL_KEY = "local";
+  private static final String REMOTE_KEY_PREFIX = "server_";
+  private static final String FILE_EXTENSION = ".txt";
+  private static final String SERVER_ID_SEPARATOR = "::";
+
+  protected TrackedAdvancementsStore() {}
+
+  /**
+   * Returns the store key for the given server id (e.g. "My_Server:763::") or the local key for
+   * single player worlds.
+   */
+  public static String getKey(String serverId) {
+    if (serverId == null) {
+      return LOCAL_KEY;
+    }
+    String serverName = serverId.endsWith(SERVER_ID_SEPARATOR)
+        ? serverId.substring(0, serverId.length() - SERVER_ID_SEPARATOR.length())
+        : serverId;
+    return REMOTE_KEY_PREFIX + serverName.replaceAll("[^\\w.-]", "_");
+  }
+
+  public static List<String> load(String key) {
+    Path path = getPath(key);
+    if (!Files.exists(path)) {
+      return Collections.emptyList();
+    }
+    List<String> trackedAdvancements = new ArrayList<>();
+    try {
+      for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+        String advancementId = line.trim();
+        if (!advancementId.isEmpty()) {
+          trackedAdvancements.add(advancementId);
+        }
+      }
+    } catch (IOException exception) {
+      log.error("Unable to load tracked advancements from {}: {}", path, exception);
+    }
+    return trackedAdvancements;
+  }
+
+  /**
+   * Writes the tracked advancements for the given key into a temporary file, which replaces the
+   * existing file afterwards. A crash during the write will never leave a partial file behind.
+   */
+  public static void save(String key, List<String> trackedAdvancements) {
+    long startTime = PerformanceMetrics.start();
+    Path path = getPath(key);
+    try {
+      Files.createDirectories(path.getParent());
+      Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+      Files.write(temporaryPath, trackedAdvancements, StandardCharsets.UTF_8);
+      try {
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException exception) {
+      log.error("Unable to save tracked advancements to {}: {}", path, exception);
+    }
+    PerformanceMetrics.stop(Metric.SAVE, startTime);
+  }
+
+  /**
+   * Moves tracked advancements from the former config cache lists into the store, one record per
+   * server. Entries for existing records are merged into them and the config lists are cleared
+   * afterwards.
+   */
+  public static void migrateLegacyConfig() {
+    List<String> trackedAdvancementsRemote = ClientConfig.CLIENT.trackedAdvancementsRemote.get();
+    List<String> trackedAdvancementsLocal = ClientConfig.CLIENT.trackedAdvancementsLocal.get();
+    if (isEmpty(trackedAdvancementsRemote) && isEmpty(trackedAdvancementsLocal)) {
+      return;
+    }
+
+    Map<String, List<String>> trackedAdvancementsByKey = new LinkedHashMap<>();
+    for (String trackedAdvancementRemote : trackedAdvancementsRemote) {
+      int separatorPosition = trackedAdvancementRemote.indexOf(SERVER_ID_SEPARATOR);
+      if (separatorPosition > 0) {
+        String serverId =
+            trackedAdvancementRemote.substring(0, separatorPosition + SERVER_ID_SEPARATOR.length());
+        trackedAdvancementsByKey.computeIfAbsent(getKey(serverId), key -> new ArrayList<>())
+            .add(trackedAdvancementRemote.substring(serverId.length()));
+      }
+    }
+    for (String trackedAdvancementLocal : trackedAdvancementsLocal) {
+      if (!trackedAdvancementLocal.isBlank()) {
+        trackedAdvancementsByKey.computeIfAbsent(LOCAL_KEY, key -> new ArrayList<>())
+            .add(trackedAdvancementLocal);
+      }
+    }
+
+    for (Map.Entry<String, List<String>> entry : trackedAdvancementsByKey.entrySet()) {
+      Set<String> trackedAdvancements = new LinkedHashSet<>(load(entry.getKey()));
+      int numberOfExistingEntries = trackedAdvancements.size();
+      trackedAdvancements.addAll(entry.getValue());
+      if (trackedAdvancements.size() == numberOfExistingEntries) {
+        continue;
+      }
+      log.info("Migrating {} tracked advancements for {} ...",
+          trackedAdvancements.size() - numberOfExistingEntries, entry.getKey());
+      save(entry.getKey(), new ArrayList<>(trackedAdvancements));
+    }
+
+    ClientConfig.CLIENT.trackedAdvancementsRemote.set(new ArrayList<>());
+    ClientConfig.CLIENT.trackedAdvancementsLocal.set(new ArrayList<>());
+    ClientConfig.CLIENT.trackedAdvancementsLocal.save();
+  }
+
+  private static boolean isEmpty(List<String> entries) {
+    for (String entry : entries) {
+      if (entry != null && !entry.isBlank()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Path getPath(String key) {
+    return FMLPaths.CONFIGDIR.get().resolve(Constants.MOD_ID).resolve(key + FILE_EXTENSION);
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.debug;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.CustomizeGuiOverlayEvent;
+import net.minecraftforge.client.event.RegisterClientCommandsEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.config.ClientConfig;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics.Metric;
+
+@EventBusSubscriber(Dist.CLIENT)
+public class PerformanceMetricsManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  protected PerformanceMetricsManager() {}
+
+  @SubscribeEvent
+  public static void handleLevelEventLoad(LevelEvent.Load event) {
+    // Ignore server side worlds.
+    if (!event.getLevel().isClientSide()) {
+      return;
+    }
+    reloadConfig();
+  }
+
+  @SubscribeEvent
+  public static void handleCustomizeGuiOverlayEventDebugText(
+      CustomizeGuiOverlayEvent.DebugText event) {
+    if (!PerformanceMetrics.isEnabled() || !Minecraft.getInstance().options.renderDebug) {
+      return;
+    }
+    event.getRight().add("");
+    event.getRight().add(ChatFormatting.UNDERLINE + Constants.MOD_NAME);
+    for (Metric metric : Metric.values()) {
+      event.getRight().add(PerformanceMetrics.format(metric));
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleRegisterClientCommandsEvent(RegisterClientCommandsEvent event) {
+    event.getDispatcher()
+        .register(Commands.literal(Constants.MOD_COMMAND).then(Commands.literal("metrics")
+            .executes(PerformanceMetricsManager::showMetrics)
+            .then(Commands.literal("reset").executes(PerformanceMetricsManager::resetMetrics))));
+  }
+
+  public static void reloadConfig() {
+    boolean enabled = Boolean.TRUE.equals(ClientConfig.CLIENT.debugMetrics.get());
+    if (enabled != PerformanceMetrics.isEnabled()) {
+      log.info("{} performance metrics.", enabled ? "Enable" : "Disable");
+      PerformanceMetrics.setEnabled(enabled);
+    }
+  }
+
+  private static int showMetrics(CommandContext<CommandSourceStack> context) {
+    if (!PerformanceMetrics.isEnabled()) {
+      context.getSource().sendFailure(Component.literal(
+          "Performance metrics are disabled, please enable debugMetrics in the client config."));
+      return 0;
+    }
+    for (Metric metric : Metric.values()) {
+      String metricText = PerformanceMetrics.format(metric);
+      log.info("[Metrics] {}", metricText);
+      context.getSource().sendSuccess(() -> Component.literal(metricText), false);
+    }
+    return Metric.values().length;
+  }
+
+  private static int resetMetrics(CommandContext<CommandSourceStack> context) {
+    PerformanceMetrics.reset();
+    context.getSource().sendSuccess(() -> Component.literal("Performance metrics were reset."),
+        false);
+    return 1;
+  }
+
+}
@@ -0,0 +1,306 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.gui;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import net.minecraftforge.client.ForgeHooksClient;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+
+import de.markusbordihn.advancementstracker.Constants;
+
+public class AdvancementIconAtlas {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final int ATLAS_SIZE = 512;
+  private static final int CELL_SIZE = 32;
+  private static final int CELLS_PER_ROW = ATLAS_SIZE / CELL_SIZE;
+  private static final int MAX_ICONS = CELLS_PER_ROW * CELLS_PER_ROW;
+  private static final float CELL_UV_SIZE = (float) CELL_SIZE / ATLAS_SIZE;
+  private static final float ITEM_SCALE = CELL_SIZE / 16f;
+  private static final int BAKE_BUDGET = 8;
+
+  // Icons by item and tag, and by the icon instance of the advancement for fast lookups.
+  private static final Map<IconKey, IconSlot> iconSlots = new HashMap<>();
+  private static final Map<ItemStack, IconSlot> iconSlotsByItemStack = new IdentityHashMap<>();
+  private static final Deque<IconSlot> pendingIconSlots = new ArrayDeque<>();
+  private static int numberOfCells = 0;
+
+  // Baked icons of the current batch, which are drawn with a single draw call.
+  private static final BufferBuilder batchBufferBuilder = new BufferBuilder(256);
+  private static boolean batchMode = false;
+
+  private static RenderTarget atlasRenderTarget;
+  private static int version = 0;
+
+  protected AdvancementIconAtlas() {}
+
+  public static void registerClientReloadListener(RegisterClientReloadListenersEvent event) {
+    event.registerReloadListener(
+        (ResourceManagerReloadListener) resourceManager -> invalidate());
+  }
+
+  /**
+   * Adds the icon of an advancement to the atlas. Icons are kept until the atlas is cleared.
+   */
+  public static void add(ItemStack itemStack) {
+    if (!isBakeable(itemStack)) {
+      return;
+    }
+    IconSlot iconSlot = iconSlotsByItemStack.get(itemStack);
+    if (iconSlot == null) {
+      IconKey iconKey = IconKey.of(itemStack);
+      iconSlot = iconSlots.get(iconKey);
+      if (iconSlot == null) {
+        if (numberOfCells >= MAX_ICONS) {
+          log.debug("Icon atlas is full, {} will be rendered directly.", itemStack);
+          return;
+        }
+        iconSlot = new IconSlot(itemStack.copy(), numberOfCells++);
+        iconSlots.put(iconKey, iconSlot);
+        pendingIconSlots.add(iconSlot);
+      }
+      iconSlotsByItemStack.put(itemStack, iconSlot);
+    }
+  }
+
+  /**
+   * Marks all icons to be baked again, e.g. after a resource pack reload changed the item models.
+   */
+  public static void invalidate() {
+    log.debug("Invalidate {} baked advancement icons ...", iconSlots.size());
+    pendingIconSlots.clear();
+    for (IconSlot iconSlot : iconSlots.values()) {
+      iconSlot.baked = false;
+      pendingIconSlots.add(iconSlot);
+    }
+    version++;
+  }
+
+  public static void clear() {
+    iconSlots.clear();
+    iconSlotsByItemStack.clear();
+    pendingIconSlots.clear();
+    numberOfCells = 0;
+    version++;
+  }
+
+  public static int getVersion() {
+    return version;
+  }
+
+  /**
+   * Renders pending icons into the atlas, limited by a budget per frame. This needs to be called
+   * from a gui render call, before any other offscreen render target is bound.
+   */
+  public static void bakePendingIcons(GuiGraphics guiGraphics) {
+    if (pendingIconSlots.isEmpty()) {
+      return;
+    }
+    Minecraft minecraft = Minecraft.getInstance();
+    guiGraphics.flush();
+    if (atlasRenderTarget == null) {
+      atlasRenderTarget = new TextureTarget(ATLAS_SIZE, ATLAS_SIZE, true, Minecraft.ON_OSX);
+      atlasRenderTarget.setClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+      atlasRenderTarget.clear(Minecraft.ON_OSX);
+    }
+
+    RenderSystem.backupProjectionMatrix();
+    RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0.0F, ATLAS_SIZE, ATLAS_SIZE, 0.0F,
+        1000.0F, ForgeHooksClient.getGuiFarPlane()), VertexSorting.ORTHOGRAPHIC_Z);
+    atlasRenderTarget.bindWrite(true);
+    GuiGraphics atlasGraphics =
+        new GuiGraphics(minecraft, minecraft.renderBuffers().bufferSource());
+    int budget = BAKE_BUDGET;
+    while (budget > 0 && !pendingIconSlots.isEmpty()) {
+      IconSlot iconSlot = pendingIconSlots.poll();
+      if (iconSlot.baked) {
+        continue;
+      }
+      int cellX = getCellX(iconSlot.cell);
+      int cellY = getCellY(iconSlot.cell);
+
+      // Clear the cell first, because it could contain an icon from before the last clear.
+      RenderSystem.enableScissor(cellX, ATLAS_SIZE - cellY - CELL_SIZE, CELL_SIZE, CELL_SIZE);
+      RenderSystem.clearColor(0.0F, 0.0F, 0.0F, 0.0F);
+      RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT, Minecraft.ON_OSX);
+      RenderSystem.disableScissor();
+
+      atlasGraphics.pose().pushPose();
+      atlasGraphics.pose().translate(cellX, cellY, 0);
+      atlasGraphics.pose().scale(ITEM_SCALE, ITEM_SCALE, 1.0F);
+      atlasGraphics.renderItem(iconSlot.itemStack, 0, 0);
+      atlasGraphics.pose().popPose();
+      iconSlot.baked = true;
+      budget--;
+    }
+    atlasGraphics.flush();
+    RenderSystem.restoreProjectionMatrix();
+    minecraft.getMainRenderTarget().bindWrite(true);
+
+    // Only changed atlas content requires a redraw of the retained icons.
+    if (budget < BAKE_BUDGET) {
+      version++;
+    }
+  }
+
+  /**
+   * Collects all following baked icons, until they are drawn together with {@link #endBatch}.
+   */
+  public static void beginBatch() {
+    batchMode = true;
+  }
+
+  /**
+   * Draws all collected baked icons with a single draw call, on top of the already rendered
+   * backgrounds and texts.
+   */
+  public static void endBatch(GuiGraphics guiGraphics) {
+    if (!batchMode) {
+      return;
+    }
+    batchMode = false;
+    if (batchBufferBuilder.building()) {
+      drawIcons(guiGraphics, batchBufferBuilder);
+    }
+  }
+
+  /**
+   * Draws the baked icon as textured quad, or adds it to the current batch. Returns false, if the
+   * icon is not baked (yet) and needs to be rendered directly.
+   */
+  public static boolean blit(GuiGraphics guiGraphics, ItemStack itemStack, float x, float y,
+      float size) {
+    IconSlot iconSlot = iconSlotsByItemStack.get(itemStack);
+    if (iconSlot == null || !iconSlot.baked || atlasRenderTarget == null) {
+      return false;
+    }
+    float u0 = getCellX(iconSlot.cell) / (float) ATLAS_SIZE;
+    float u1 = u0 + CELL_UV_SIZE;
+    float v0 = 1.0F - getCellY(iconSlot.cell) / (float) ATLAS_SIZE;
+    float v1 = v0 - CELL_UV_SIZE;
+    Matrix4f matrix = guiGraphics.pose().last().pose();
+
+    // Keep the current shader color per icon, because the batch is drawn with a neutral color.
+    float[] shaderColor = RenderSystem.getShaderColor();
+    float red = shaderColor[0];
+    float green = shaderColor[1];
+    float blue = shaderColor[2];
+    float alpha = shaderColor[3];
+    BufferBuilder bufferBuilder =
+        batchMode ? batchBufferBuilder : Tesselator.getInstance().getBuilder();
+    if (!bufferBuilder.building()) {
+      bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR_TEX);
+    }
+    bufferBuilder.vertex(matrix, x, y, 0.0F).color(red, green, blue, alpha).uv(u0, v0)
+        .endVertex();
+    bufferBuilder.vertex(matrix, x, y + size, 0.0F).color(red, green, blue, alpha).uv(u0, v1)
+        .endVertex();
+    bufferBuilder.vertex(matrix, x + size, y + size, 0.0F).color(red, green, blue, alpha)
+        .uv(u1, v1).endVertex();
+    bufferBuilder.vertex(matrix, x + size, y, 0.0F).color(red, green, blue, alpha).uv(u1, v0)
+        .endVertex();
+    if (!batchMode) {
+      drawIcons(guiGraphics, bufferBuilder);
+    }
+    return true;
+  }
+
+  private static void drawIcons(GuiGraphics guiGraphics, BufferBuilder bufferBuilder) {
+    guiGraphics.flush();
+    float[] shaderColor = RenderSystem.getShaderColor().clone();
+    RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
+    RenderSystem.setShader(GameRenderer::getPositionColorTexShader);
+    RenderSystem.setShaderTexture(0, atlasRenderTarget.getColorTextureId());
+    RenderSystem.enableBlend();
+    RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE,
+        GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+    BufferUploader.drawWithShader(bufferBuilder.end());
+    RenderSystem.defaultBlendFunc();
+    RenderSystem.setShaderColor(shaderColor[0], shaderColor[1], shaderColor[2], shaderColor[3]);
+  }
+
+  public static void renderItem(GuiGraphics guiGraphics, ItemStack itemStack, int x, int y) {
+    if (!blit(guiGraphics, itemStack, x, y, 16)) {
+      guiGraphics.renderItem(itemStack, x, y);
+    }
+  }
+
+  private static boolean isBakeable(ItemStack itemStack) {
+    // Icons with enchantment glint are animated and therefore rendered directly.
+    return itemStack != null && !itemStack.isEmpty() && !itemStack.hasFoil();
+  }
+
+  private static int getCellX(int cell) {
+    return (cell % CELLS_PER_ROW) * CELL_SIZE;
+  }
+
+  private static int getCellY(int cell) {
+    return (cell / CELLS_PER_ROW) * CELL_SIZE;
+  }
+
+  private record IconKey(Item item, CompoundTag tag) {
+    private static IconKey of(ItemStack itemStack) {
+      return new IconKey(itemStack.getItem(),
+          itemStack.getTag() != null ? itemStack.getTag().copy() : null);
+    }
+  }
+
+  private static class IconSlot {
+    private final ItemStack itemStack;
+    private final int cell;
+    private boolean baked = false;
+
+    private IconSlot(ItemStack itemStack, int cell) {
+      this.itemStack = itemStack;
+      this.cell = cell;
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.gui;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.FormattedText;
+import net.minecraft.network.chat.Style;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraft.util.FormattedCharSequence;
+
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+
+import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementsManager;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementsSearchIndex;
+
+/**
+ * Shared cache for truncated titles and split descriptions, so that the same text is only laid
+ * out once. Scaled texts are cached by their already scaled width.
+ */
+public class TextLayoutCache {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  // Bound grows with the known advancements, for their truncated titles and split descriptions
+  // in both lists, the widget and the detail view.
+  private static final int MIN_ENTRIES = 4096;
+  private static final int ENTRIES_PER_ADVANCEMENT = 4;
+
+  private static final Map<TextLayoutKey, Object> textLayouts =
+      new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TextLayoutKey, Object> eldest) {
+          return size() > getMaxEntries();
+        }
+      };
+  private static double guiScale = 0;
+  private static String language = null;
+  private static int version = 0;
+
+  private enum Type {
+    SUBSTR_BY_WIDTH, SPLIT
+  }
+
+  protected TextLayoutCache() {}
+
+  public static void registerClientReloadListener(RegisterClientReloadListenersEvent event) {
+    // Language changes are also triggering a resource reload.
+    event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> clear());
+  }
+
+  public static FormattedCharSequence substrByWidth(FormattedText text, int maxWidth) {
+    TextLayoutKey textLayoutKey = new TextLayoutKey(Type.SUBSTR_BY_WIDTH, text, maxWidth,
+        Style.EMPTY);
+    Object substr = getTextLayout(textLayoutKey);
+    if (substr == null) {
+      substr = Language.getInstance()
+          .getVisualOrder(FormattedText.composite(getFont().substrByWidth(text, maxWidth)));
+      textLayouts.put(textLayoutKey, substr);
+    }
+    return (FormattedCharSequence) substr;
+  }
+
+  public static List<FormattedCharSequence> split(FormattedText text, int maxWidth) {
+    return split(text, maxWidth, Style.EMPTY);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static List<FormattedCharSequence> split(FormattedText text, int maxWidth, Style style) {
+    TextLayoutKey textLayoutKey = new TextLayoutKey(Type.SPLIT, text, maxWidth, style);
+    Object lines = getTextLayout(textLayoutKey);
+    if (lines == null) {
+      lines = List.copyOf(Language.getInstance()
+          .getVisualOrder(getFont().getSplitter().splitLines(text, maxWidth, style)));
+      textLayouts.put(textLayoutKey, lines);
+    }
+    return (List<FormattedCharSequence>) lines;
+  }
+
+  public static void clear() {
+    log.debug("Clear {} cached text layouts ...", textLayouts.size());
+    textLayouts.clear();
+    version++;
+  }
+
+  public static int getMaxEntries() {
+    return MIN_ENTRIES + ENTRIES_PER_ADVANCEMENT
+        * (AdvancementsSearchIndex.size() + AdvancementsManager.getNumberOfRootAdvancements());
+  }
+
+  public static int getVersion() {
+    return version;
+  }
+
+  private static Object getTextLayout(TextLayoutKey textLayoutKey) {
+    // Clear outdated text layouts after the gui scale or the language has changed.
+    Minecraft minecraft = Minecraft.getInstance();
+    double currentGuiScale = minecraft.getWindow().getGuiScale();
+    String currentLanguage = minecraft.getLanguageManager().getSelected();
+    if (currentGuiScale != guiScale || !currentLanguage.equals(language)) {
+      clear();
+      guiScale = currentGuiScale;
+      language = currentLanguage;
+      return null;
+    }
+    return textLayouts.get(textLayoutKey);
+  }
+
+  private static Font getFont() {
+    return Minecraft.getInstance().font;
+  }
+
+  private record TextLayoutKey(Type type, Object text, int maxWidth, Style style) {
+  }
+
+}
@@ -19,7 +19,9 @@
 
 package de.markusbordihn.advancementstracker.client.gui.panel;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,24 +34,31 @@ import net.minecraft.client.gui.components.ObjectSelectionList;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.FormattedCharSequence;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.FormattedText;
-import net.minecraft.locale.Language;
 
 import de.markusbordihn.advancementstracker.Constants;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntry;
 import de.markusbordihn.advancementstracker.client.advancements.TrackedAdvancementsManager;
+import de.markusbordihn.advancementstracker.client.gui.AdvancementIconAtlas;
+import de.markusbordihn.advancementstracker.client.gui.TextLayoutCache;
 import de.markusbordihn.advancementstracker.client.gui.screens.AdvancementsTrackerScreen;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics;
 
 public class AdvancementCategoryPanel
     extends ObjectSelectionList<AdvancementCategoryPanel.RootAdvancementEntry> {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
+  private static final int ICON_WIDTH = 14;
+
   private final int listLeft;
   private final int listWidth;
 
   private AdvancementsTrackerScreen parent;
 
+  // Entries are re-used across refreshes, e.g. after the sort order has changed.
+  private final Map<ResourceLocation, RootAdvancementEntry> rootAdvancementEntries =
+      new HashMap<>();
+
   public AdvancementCategoryPanel(AdvancementsTrackerScreen parent, int listWidth, int top,
       int listLeft, int bottom) {
     super(parent.getMinecraftInstance(), listWidth, parent.height, top, bottom,
@@ -66,8 +75,7 @@ public class AdvancementCategoryPanel
     this.clearEntries();
 
     // Build root advancements list.
-    parent.buildRootAdvancementsList(this::addEntry,
-        mod -> new RootAdvancementEntry(mod, this.parent));
+    parent.buildRootAdvancementsList(this::addEntry, this::getRootAdvancementEntry);
 
     // Pre-select first entry if we have nothing selected.
     if (this.getSelected() == null && parent.getSelectedRootAdvancement() != null) {
@@ -86,6 +94,21 @@ public class AdvancementCategoryPanel
     }
   }
 
+  private RootAdvancementEntry getRootAdvancementEntry(AdvancementEntry advancementEntry) {
+    RootAdvancementEntry rootAdvancementEntry =
+        this.rootAdvancementEntries.get(advancementEntry.getId());
+    if (rootAdvancementEntry == null
+        || rootAdvancementEntry.getAdvancementEntry() != advancementEntry) {
+      rootAdvancementEntry = new RootAdvancementEntry(advancementEntry, this.parent);
+      this.rootAdvancementEntries.put(advancementEntry.getId(), rootAdvancementEntry);
+    }
+    return rootAdvancementEntry;
+  }
+
+  private static int getTitleWidth(AdvancementEntry advancementEntry, int maxFontWidth) {
+    return advancementEntry.getTitleWidth() > maxFontWidth ? maxFontWidth - 6 : maxFontWidth;
+  }
+
   private void refreshSelection() {
     RootAdvancementEntry rootAdvancementEntry = this.getSelected();
     if (rootAdvancementEntry != null) {
@@ -121,13 +144,12 @@ public class AdvancementCategoryPanel
       this.titleColor = advancementEntry.getTitleColor();
 
       // Do expensive pre-calculation for the render
-      this.iconWidth = 14;
+      this.iconWidth = ICON_WIDTH;
       this.maxFontWidth = listWidth - iconWidth - 4;
-      this.titleWidth =
-          advancementEntry.getTitleWidth() > maxFontWidth ? maxFontWidth - 6 : maxFontWidth;
-      this.titleParts = Language.getInstance().getVisualOrder(
-          FormattedText.composite(font.substrByWidth(advancementEntry.getTitle(), titleWidth)));
-      this.descriptionParts = font.split(advancementEntry.getDescription(), maxFontWidth);
+      this.titleWidth = getTitleWidth(advancementEntry, maxFontWidth);
+      this.titleParts = TextLayoutCache.substrByWidth(advancementEntry.getTitle(), titleWidth);
+      this.descriptionParts =
+          TextLayoutCache.split(advancementEntry.getDescription(), maxFontWidth);
     }
 
     public AdvancementEntry getAdvancementEntry() {
@@ -154,7 +176,8 @@ public class AdvancementCategoryPanel
       if (this.advancementEntry.getIcon() == null) {
         return;
       }
-      guiGraphics.renderItem(this.advancementEntry.getIcon(), getLeft() + 1, top + 6);
+      AdvancementIconAtlas.renderItem(guiGraphics, this.advancementEntry.getIcon(), getLeft() + 1,
+          top + 6);
     }
 
     private void renderTrackedAdvancementsStatus(GuiGraphics guiGraphics, int top, int left,
@@ -194,6 +217,7 @@ public class AdvancementCategoryPanel
     @Override
     public void render(GuiGraphics guiGraphics, int entryIdx, int top, int left, int entryWidth,
         int entryHeight, int mouseX, int mouseY, boolean isFocused, float partialTick) {
+      long startTime = PerformanceMetrics.start();
 
       // Selection state
       this.isSelected = isSelectedItem(entryIdx);
@@ -252,6 +276,7 @@ public class AdvancementCategoryPanel
 
       // Decoration
       this.renderDecoration(guiGraphics, top, entryWidth, entryHeight);
+      PerformanceMetrics.stop(PerformanceMetrics.Metric.PANEL_ENTRY_RENDER, startTime);
     }
 
     @Override
@@ -265,6 +290,14 @@ public class AdvancementCategoryPanel
 
   }
 
+  @Override
+  protected void renderList(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
+    // Draw the baked icons of all visible entries together, inside the list scissor.
+    AdvancementIconAtlas.beginBatch();
+    super.renderList(guiGraphics, mouseX, mouseY, partialTick);
+    AdvancementIconAtlas.endBatch(guiGraphics);
+  }
+
   @Override
   public boolean isMouseOver(double mouseX, double mouseY) {
     return !parent.showingAdvancementDetail() && mouseY >= this.y0 && mouseY <= this.y1
@@ -33,7 +33,6 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.narration.NarrationElementOutput;
-import net.minecraft.locale.Language;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.Style;
 import net.minecraft.util.FormattedCharSequence;
@@ -42,6 +41,7 @@ import net.minecraftforge.client.gui.widget.ScrollPanel;
 import net.minecraftforge.common.ForgeHooks;
 
 import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.client.gui.TextLayoutCache;
 
 public class AdvancementInfoPanel extends ScrollPanel {
 
@@ -81,8 +81,7 @@ public class AdvancementInfoPanel extends ScrollPanel {
         } else if (line.startsWith("❌")) {
           textStyle = Style.EMPTY.withColor(0xFF0000);
         }
-        result.addAll(Language.getInstance()
-            .getVisualOrder(font.getSplitter().splitLines(chat, maxTextLength, textStyle)));
+        result.addAll(TextLayoutCache.split(chat, maxTextLength, textStyle));
       }
     }
     return result;
@@ -19,7 +19,10 @@
 
 package de.markusbordihn.advancementstracker.client.gui.panel;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,26 +36,35 @@ import net.minecraft.client.gui.components.ObjectSelectionList;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.FormattedCharSequence;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.FormattedText;
-import net.minecraft.locale.Language;
 
 import de.markusbordihn.advancementstracker.Constants;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntry;
 import de.markusbordihn.advancementstracker.client.advancements.TrackedAdvancementsManager;
+import de.markusbordihn.advancementstracker.client.gui.AdvancementIconAtlas;
+import de.markusbordihn.advancementstracker.client.gui.TextLayoutCache;
 import de.markusbordihn.advancementstracker.client.gui.components.AdvancementTooltip;
 import de.markusbordihn.advancementstracker.client.gui.screens.AdvancementsTrackerScreen;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics;
 
 public class AdvancementOverviewPanel
     extends ObjectSelectionList<AdvancementOverviewPanel.ChildAdvancementEntry> {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
+  private static final int ICON_WIDTH = 18;
+
   private final int listLeft;
   private final int listWidth;
 
   private AdvancementsTrackerScreen parent;
   private AdvancementTooltip advancementTooltip;
 
+  // Entries are re-used across refreshes and only materialized while they are visible.
+  private final Map<ResourceLocation, ChildAdvancementEntry> childAdvancementEntries =
+      new HashMap<>();
+  private final List<ChildAdvancementEntry> materializedEntries = new ArrayList<>();
+  private int renderFrame = 0;
+
   public AdvancementOverviewPanel(AdvancementsTrackerScreen parent, int listWidth, int top,
       int listLeft, int bottom) {
     super(parent.getMinecraftInstance(), listWidth, parent.height, top, bottom,
@@ -69,8 +81,7 @@ public class AdvancementOverviewPanel
     this.clearEntries();
 
     // Build child advancements list.
-    parent.buildChildAdvancementsList(this::addEntry,
-        mod -> new ChildAdvancementEntry(mod, this.parent));
+    parent.buildChildAdvancementsList(this::addEntry, this::getChildAdvancementEntry);
 
     // Reset scroll bar
     if (getScrollAmount() > 0) {
@@ -81,6 +92,31 @@ public class AdvancementOverviewPanel
     this.advancementTooltip = null;
   }
 
+  private ChildAdvancementEntry getChildAdvancementEntry(AdvancementEntry advancementEntry) {
+    ChildAdvancementEntry childAdvancementEntry =
+        this.childAdvancementEntries.get(advancementEntry.getId());
+    if (childAdvancementEntry == null
+        || childAdvancementEntry.getAdvancementEntry() != advancementEntry) {
+      childAdvancementEntry = new ChildAdvancementEntry(advancementEntry, this.parent);
+      this.childAdvancementEntries.put(advancementEntry.getId(), childAdvancementEntry);
+    }
+    return childAdvancementEntry;
+  }
+
+  /**
+   * Creates the list entry and pre-calculates its text layouts, before the entry is shown.
+   */
+  public void prepareEntry(AdvancementEntry advancementEntry) {
+    int maxFontWidth = getChildAdvancementEntry(advancementEntry).maxFontWidth;
+    TextLayoutCache.substrByWidth(advancementEntry.getTitle(),
+        getTitleWidth(advancementEntry, maxFontWidth));
+    TextLayoutCache.split(advancementEntry.getDescription(), maxFontWidth);
+  }
+
+  private static int getTitleWidth(AdvancementEntry advancementEntry, int maxFontWidth) {
+    return advancementEntry.getTitleWidth() > maxFontWidth ? maxFontWidth - 6 : maxFontWidth;
+  }
+
   public void setAdvancementTooltip(AdvancementTooltip advancementTooltip) {
     this.advancementTooltip = advancementTooltip;
   }
@@ -94,17 +130,22 @@ public class AdvancementOverviewPanel
 
     private final AdvancementEntry advancementEntry;
     private final AdvancementsTrackerScreen parent;
-    private final AdvancementTooltip advancementTooltip;
     private final Font font;
-    private final boolean isDone;
-    private final int completedCriteriaNumber;
-    private final int descriptionColor;
     private final int iconWidth;
-    private final int remainingCriteriaNumber;
-    private final int titleColor;
 
+    // Materialized render state, only available while the entry is visible.
+    private AdvancementTooltip advancementTooltip;
     private FormattedCharSequence titleParts;
     private List<FormattedCharSequence> descriptionParts;
+    private boolean isDone;
+    private boolean materialized = false;
+    private int completedCriteriaNumber;
+    private int descriptionColor;
+    private int lastRenderFrame;
+    private int progressVersion;
+    private int remainingCriteriaNumber;
+    private int titleColor;
+
     private boolean isMouseOvered = false;
 
     // Cached positions and sizes
@@ -116,24 +157,43 @@ public class AdvancementOverviewPanel
 
     ChildAdvancementEntry(AdvancementEntry advancementEntry, AdvancementsTrackerScreen parent) {
       this.advancementEntry = advancementEntry;
+      this.font = parent.getFontRenderer();
+      this.parent = parent;
+      this.iconWidth = ICON_WIDTH;
+      this.maxFontWidth = listWidth - this.iconWidth - 4;
+    }
+
+    /**
+     * Do expensive pre-calculation for the render, once the entry scrolls into view or the
+     * progress of the advancement has changed.
+     */
+    private void materialize() {
+      int currentProgressVersion = advancementEntry.getProgress().getVersion();
+      if (this.materialized && this.progressVersion == currentProgressVersion) {
+        return;
+      }
+      this.progressVersion = currentProgressVersion;
       this.advancementTooltip = new AdvancementTooltip(advancementEntry);
       this.completedCriteriaNumber = advancementEntry.getProgress().getCompletedCriteriaNumber();
       this.descriptionColor = advancementEntry.getDescriptionColor();
-      this.font = parent.getFontRenderer();
       this.isDone = advancementEntry.getProgress().isDone();
-      this.parent = parent;
       this.remainingCriteriaNumber = advancementEntry.getProgress().getRemainingCriteriaNumber();
       this.titleColor = advancementEntry.getTitleColor();
+      this.titleWidth = getTitleWidth(advancementEntry, this.maxFontWidth);
+      this.titleParts = TextLayoutCache.substrByWidth(advancementEntry.getTitle(), titleWidth);
+      this.descriptionParts =
+          TextLayoutCache.split(advancementEntry.getDescription(), this.maxFontWidth);
+      if (!this.materialized) {
+        this.materialized = true;
+        materializedEntries.add(this);
+      }
+    }
 
-      // Do expensive pre-calculation for the render
-      this.iconWidth = 18;
-      this.maxFontWidth = listWidth - this.iconWidth - 4;
-      this.titleWidth =
-          font.width(advancementEntry.getTitle()) > this.maxFontWidth ? this.maxFontWidth - 6
-              : this.maxFontWidth;
-      this.titleParts = Language.getInstance().getVisualOrder(
-          FormattedText.composite(font.substrByWidth(advancementEntry.getTitle(), titleWidth)));
-      this.descriptionParts = font.split(advancementEntry.getDescription(), this.maxFontWidth);
+    private void recycle() {
+      this.advancementTooltip = null;
+      this.descriptionParts = null;
+      this.materialized = false;
+      this.titleParts = null;
     }
 
     public AdvancementEntry getAdvancementEntry() {
@@ -160,7 +220,8 @@ public class AdvancementOverviewPanel
       if (this.advancementEntry.getIcon() == null) {
         return;
       }
-      guiGraphics.renderItem(this.advancementEntry.getIcon(), getLeft() + 3, top + 2);
+      AdvancementIconAtlas.renderItem(guiGraphics, this.advancementEntry.getIcon(), getLeft() + 3,
+          top + 2);
     }
 
     private void renderRewards(GuiGraphics guiGraphics, int top, int left, int entryWidth) {
@@ -276,6 +337,11 @@ public class AdvancementOverviewPanel
     @Override
     public void render(GuiGraphics guiGraphics, int entryIdx, int top, int left, int entryWidth,
         int entryHeight, int mouseX, int mouseY, boolean isFocused, float partialTick) {
+      long startTime = PerformanceMetrics.start();
+
+      // Materialize entry, if it was scrolled into view.
+      this.lastRenderFrame = renderFrame;
+      this.materialize();
 
       // Mouse over state
       this.isMouseOvered = this.isMouseOver(mouseX, mouseY);
@@ -340,6 +406,7 @@ public class AdvancementOverviewPanel
       if (super.isMouseOver(mouseX, mouseY)) {
         setAdvancementTooltip(this.advancementTooltip);
       }
+      PerformanceMetrics.stop(PerformanceMetrics.Metric.PANEL_ENTRY_RENDER, startTime);
     }
 
     @Override
@@ -362,14 +429,37 @@ public class AdvancementOverviewPanel
 
   @Override
   public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
+    this.renderFrame++;
     super.render(guiGraphics, mouseX, mouseY, partialTick);
 
+    // Recycle entries, which were scrolled out of view.
+    int numberOfMaterializedEntries = 0;
+    for (int i = 0; i < this.materializedEntries.size(); i++) {
+      ChildAdvancementEntry childAdvancementEntry = this.materializedEntries.get(i);
+      if (childAdvancementEntry.lastRenderFrame == this.renderFrame) {
+        this.materializedEntries.set(numberOfMaterializedEntries++, childAdvancementEntry);
+      } else {
+        childAdvancementEntry.recycle();
+      }
+    }
+    for (int i = this.materializedEntries.size() - 1; i >= numberOfMaterializedEntries; i--) {
+      this.materializedEntries.remove(i);
+    }
+
     // Render tool tips separate to make sure they are fully visible.
     if (this.advancementTooltip != null) {
       this.advancementTooltip = null;
     }
   }
 
+  @Override
+  protected void renderList(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
+    // Draw the baked icons of all visible entries together, inside the list scissor.
+    AdvancementIconAtlas.beginBatch();
+    super.renderList(guiGraphics, mouseX, mouseY, partialTick);
+    AdvancementIconAtlas.endBatch(guiGraphics);
+  }
+
   @Override
   public boolean isMouseOver(double mouseX, double mouseY) {
     return !parent.showingAdvancementDetail() && mouseY >= this.y0 && mouseY <= this.y1
@@ -38,6 +38,7 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 import de.markusbordihn.advancementstracker.Constants;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntry;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntryProgress;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementsManager;
 import de.markusbordihn.advancementstracker.client.gui.panel.AdvancementInfoPanel;
 
 @OnlyIn(Dist.CLIENT)
@@ -117,6 +118,26 @@ public class AdvancementDetailScreen extends Screen {
       }
     }
 
+    // Display parent and child advancements.
+    AdvancementEntry parentEntry = this.advancementEntry.getParentEntry();
+    if (parentEntry != null) {
+      info.add(" ");
+      info.add(
+          Component.translatable(Constants.ADVANCEMENTS_SCREEN_PREFIX + "requires").getString());
+      info.add("- " + parentEntry.getTitleString());
+    }
+
+    List<AdvancementEntry> childEntries =
+        AdvancementsManager.getChildAdvancements(this.advancementEntry);
+    if (!childEntries.isEmpty()) {
+      info.add(" ");
+      info.add(
+          Component.translatable(Constants.ADVANCEMENTS_SCREEN_PREFIX + "unlocks").getString());
+      for (AdvancementEntry childEntry : childEntries) {
+        info.add("- " + childEntry.getTitleString());
+      }
+    }
+
     return info;
   }
 
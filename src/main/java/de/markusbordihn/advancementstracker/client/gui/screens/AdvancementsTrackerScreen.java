@@ -19,7 +19,9 @@
 
 package de.markusbordihn.advancementstracker.client.gui.screens;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -33,6 +35,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.components.ObjectSelectionList;
 
 import net.minecraft.client.gui.screens.Screen;
@@ -44,8 +47,13 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.fml.loading.StringUtils;
 
 import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementCategoryStats;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntry;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementsFilterIndex;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementsManager;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementsSearchIndex;
+import de.markusbordihn.advancementstracker.client.advancements.SortedAdvancements;
+import de.markusbordihn.advancementstracker.client.gui.AdvancementIconAtlas;
 import de.markusbordihn.advancementstracker.client.gui.components.SmallButton;
 import de.markusbordihn.advancementstracker.client.gui.panel.AdvancementCategoryPanel;
 import de.markusbordihn.advancementstracker.client.gui.panel.AdvancementOverviewPanel;
@@ -63,33 +71,27 @@ public class AdvancementsTrackerScreen extends Screen {
   private static final int PADDING = 10;
   private static final int STATUS_BAR_HEIGHT = 11;
   private static final int SCROLLBAR_WIDTH = 6;
+  private static final int SEARCH_BOX_WIDTH = 100;
   private int buttonMargin = 1;
   private int listWidth;
+  private int panelsHeight;
+  private int panelsWidth;
 
   // Sorting Support
-  private enum CategorySortType implements Comparator<AdvancementEntry> {
-    NORMAL, A_TO_Z {
-      @Override
-      protected int compare(String name1, String name2) {
-        return name1.compareTo(name2);
-      }
-    },
-    Z_TO_A {
-      @Override
-      protected int compare(String name1, String name2) {
-        return name2.compareTo(name1);
-      }
-    };
+  private enum CategorySortType {
+    NORMAL(SortedAdvancements.SortOrder.INSERTION),
+    A_TO_Z(SortedAdvancements.SortOrder.TITLE),
+    Z_TO_A(SortedAdvancements.SortOrder.TITLE_REVERSED);
 
+    private final SortedAdvancements.SortOrder sortOrder;
     Button button;
 
-    protected int compare(String name1, String name2) {
-      return name1.equals(name2) ? 1 : 0;
+    CategorySortType(SortedAdvancements.SortOrder sortOrder) {
+      this.sortOrder = sortOrder;
     }
 
-    @Override
-    public int compare(AdvancementEntry advancement1, AdvancementEntry advancement2) {
-      return compare(advancement1.getSortName(), advancement2.getSortName());
+    SortedAdvancements.SortOrder getSortOrder() {
+      return this.sortOrder;
     }
 
     Component getButtonText() {
@@ -101,9 +103,16 @@ public class AdvancementsTrackerScreen extends Screen {
   // Stats
   private static boolean showCompletedAdvancements = true;
   private static boolean showOnlyRewardedAdvancements = false;
+  private static boolean showOnlyTrackedAdvancements = false;
   private CategorySortType sortType = CategorySortType.NORMAL;
   private boolean sorted = false;
 
+  // Search over all categories
+  private EditBox searchBox;
+  private BitSet searchResults = null;
+  private String searchQuery = "";
+  private int searchIndexSize = 0;
+
   // Advancements
   Set<AdvancementEntry> rootAdvancements;
   Set<AdvancementEntry> childAdvancements;
@@ -118,9 +127,8 @@ public class AdvancementsTrackerScreen extends Screen {
   private static Screen parentScreen = null;
   private AdvancementDetailScreen showAdvancementDetailScreen;
   private boolean showAdvancementDetail = false;
-  private int numberOfCompletedAdvancements = 0;
   private int numberOfRootAdvancements = 0;
-  private int numberOfTotalAdvancements = 0;
+  private AdvancementCategoryStats selectedRootAdvancementStats = null;
 
   public AdvancementsTrackerScreen() {
     this(Component.literal("Advancements Tracker"));
@@ -133,7 +141,10 @@ public class AdvancementsTrackerScreen extends Screen {
     }
     if (!(minecraft.screen instanceof AdvancementsTrackerScreen)) {
       parentScreen = minecraft.screen;
-      Minecraft.getInstance().setScreen(new AdvancementsTrackerScreen());
+      AdvancementsTrackerScreen preparedScreen =
+          AdvancementsTrackerScreenPrewarmer.takePreparedScreen(minecraft);
+      Minecraft.getInstance()
+          .setScreen(preparedScreen != null ? preparedScreen : new AdvancementsTrackerScreen());
     } else if (minecraft.screen instanceof AdvancementsTrackerScreen) {
       Minecraft.getInstance().setScreen(parentScreen);
       parentScreen = null;
@@ -144,6 +155,33 @@ public class AdvancementsTrackerScreen extends Screen {
     super(component);
   }
 
+  /**
+   * Builds the panels and list entries of a screen which is not shown yet, so that opening the
+   * screen only needs to adopt them. The selected category is only stored in this screen and not
+   * in the {@link AdvancementsManager}.
+   */
+  void prepare(Minecraft minecraft, int width, int height) {
+    this.minecraft = minecraft;
+    this.font = minecraft.font;
+    this.width = width;
+    this.height = height;
+    this.init();
+  }
+
+  void prepareChildAdvancementEntry(AdvancementEntry advancementEntry) {
+    if (this.advancementOverviewPanel != null) {
+      this.advancementOverviewPanel.prepareEntry(advancementEntry);
+    }
+  }
+
+  public static int getCategoryListWidth(int width) {
+    return Math.max(width / 3, 100);
+  }
+
+  public static int getOverviewListWidth(int width) {
+    return width - getCategoryListWidth(width) - (2 * SCROLLBAR_WIDTH) - 1;
+  }
+
   public Minecraft getMinecraftInstance() {
     return minecraft;
   }
@@ -162,15 +200,11 @@ public class AdvancementsTrackerScreen extends Screen {
   }
 
   public void reloadRootAdvancements() {
-    this.reloadRootAdvancements(CategorySortType.NORMAL);
+    this.reloadRootAdvancements(this.sortType);
   }
 
   public void reloadRootAdvancements(CategorySortType sortType) {
-    if (sortType == CategorySortType.NORMAL) {
-      this.rootAdvancements = AdvancementsManager.getRootAdvancements();
-    } else {
-      this.rootAdvancements = AdvancementsManager.getSortedRootAdvancements(sortType);
-    }
+    this.rootAdvancements = AdvancementsManager.getSortedRootAdvancements(sortType.getSortOrder());
     if (this.advancementCategoryPanel != null) {
       this.advancementCategoryPanel.refreshList();
     }
@@ -183,7 +217,11 @@ public class AdvancementsTrackerScreen extends Screen {
       if (sort.button != null)
         sort.button.active = sortType != sort;
     }
-    sorted = false;
+
+    // Re-sort directly, the existing list entries are re-used by the panels.
+    reloadRootAdvancements(sortType);
+    reloadChildAdvancements(sortType);
+    sorted = true;
   }
 
   public void setSelectedRootAdvancement(AdvancementCategoryPanel.RootAdvancementEntry entry) {
@@ -194,10 +232,8 @@ public class AdvancementsTrackerScreen extends Screen {
     this.selectedRootAdvancement = advancementEntry;
     log.debug("Selected root entry {}", this.selectedRootAdvancement);
     this.reloadChildAdvancements();
-    this.numberOfCompletedAdvancements =
-        AdvancementsManager.getNumberOfCompletedAdvancements(this.selectedRootAdvancement);
-    this.numberOfTotalAdvancements =
-        AdvancementsManager.getNumberOfAdvancements(this.selectedRootAdvancement);
+    this.selectedRootAdvancementStats =
+        AdvancementsManager.getCategoryStats(this.selectedRootAdvancement);
   }
 
   public AdvancementEntry getSelectedRootAdvancement() {
@@ -206,30 +242,67 @@ public class AdvancementsTrackerScreen extends Screen {
 
   public <T extends ObjectSelectionList.Entry<T>> void buildChildAdvancementsList(
       Consumer<T> listViewConsumer, Function<AdvancementEntry, T> newEntry) {
+    // Filters are evaluated once for all advancements, based on the pre-calculated flags.
+    BitSet visibleAdvancements = AdvancementsFilterIndex.filter(showCompletedAdvancements,
+        showOnlyRewardedAdvancements, showOnlyTrackedAdvancements);
+
+    // Search results over all categories are replacing the advancements of the category.
+    if (this.searchResults != null) {
+      visibleAdvancements.and(this.searchResults);
+      for (AdvancementEntry advancementEntry : getSearchResults(visibleAdvancements)) {
+        listViewConsumer.accept(newEntry.apply(advancementEntry));
+      }
+      return;
+    }
     if (this.childAdvancements == null) {
       return;
     }
     this.childAdvancements.forEach(advancementEntry -> {
-      if ((showCompletedAdvancements || !advancementEntry.getProgress().isDone())
-          && (!showOnlyRewardedAdvancements || advancementEntry.hasRewards())) {
+      if (advancementEntry.getDocumentId() >= 0
+          && visibleAdvancements.get(advancementEntry.getDocumentId())) {
         listViewConsumer.accept(newEntry.apply(advancementEntry));
       }
     });
   }
 
+  private List<AdvancementEntry> getSearchResults(BitSet documentIds) {
+    List<AdvancementEntry> result = new ArrayList<>(documentIds.cardinality());
+    int documentId = documentIds.nextSetBit(0);
+    while (documentId >= 0) {
+      result.add(AdvancementsSearchIndex.getDocument(documentId));
+      documentId = documentIds.nextSetBit(documentId + 1);
+    }
+    if (this.sortType == CategorySortType.A_TO_Z) {
+      result.sort(AdvancementEntry.sortByTitle());
+    } else if (this.sortType == CategorySortType.Z_TO_A) {
+      result.sort(AdvancementEntry.sortByTitle().reversed());
+    }
+    return result;
+  }
+
+  private void updateSearchQuery(String searchQuery) {
+    if (searchQuery.equals(this.searchQuery)) {
+      return;
+    }
+    this.searchQuery = searchQuery;
+    this.searchResults = AdvancementsSearchIndex.search(searchQuery);
+    this.searchIndexSize = AdvancementsSearchIndex.size();
+    if (this.advancementOverviewPanel != null) {
+      this.advancementOverviewPanel.refreshList();
+    }
+  }
+
   public void reloadChildAdvancements() {
-    this.reloadChildAdvancements(CategorySortType.NORMAL);
+    this.reloadChildAdvancements(this.sortType);
   }
 
   public void reloadChildAdvancements(CategorySortType sortType) {
-    if (this.selectedRootAdvancement == null) {
+    if (this.selectedRootAdvancement == null && this.searchResults == null) {
       return;
     }
-    if (sortType == CategorySortType.NORMAL) {
-      this.childAdvancements = AdvancementsManager.getAdvancements(this.selectedRootAdvancement);
-    } else {
-      this.childAdvancements =
-          AdvancementsManager.getSortedAdvancements(this.selectedRootAdvancement, sortType);
+    if (this.selectedRootAdvancement != null) {
+      this.childAdvancements = AdvancementsManager
+          .getSortedAdvancements(this.selectedRootAdvancement, sortType.getSortOrder());
     }
     if (this.advancementOverviewPanel != null) {
       this.advancementOverviewPanel.refreshList();
@@ -274,10 +347,12 @@ public class AdvancementsTrackerScreen extends Screen {
   }
 
   private void renderAdvancementsStats(GuiGraphics guiGraphics) {
-    if (this.numberOfTotalAdvancements > 0) {
+    if (this.selectedRootAdvancementStats != null
+        && this.selectedRootAdvancementStats.getNumberOfAdvancements() > 0) {
       float scaleFactor = 0.75f;
       Component text = Component.translatable(Constants.ADVANCEMENTS_SCREEN_PREFIX + "numCompleted",
-          this.numberOfCompletedAdvancements, this.numberOfTotalAdvancements);
+          this.selectedRootAdvancementStats.getNumberOfCompletedAdvancements(),
+          this.selectedRootAdvancementStats.getNumberOfAdvancements());
 
       guiGraphics.pose().pushPose();
       guiGraphics.pose().scale(scaleFactor, scaleFactor, scaleFactor);
@@ -340,6 +415,33 @@ public class AdvancementsTrackerScreen extends Screen {
     showOnlyRewardedAdvancements = !showOnlyRewardedAdvancements;
   }
 
+  private void renderOnlyTrackedCheckbox(GuiGraphics guiGraphics) {
+    int iconPosition = 22;
+    if (showOnlyTrackedAdvancements) {
+      iconPosition = 42;
+    }
+    float scaleFactorIcon = 0.6f;
+    guiGraphics.pose().pushPose();
+    guiGraphics.pose().scale(scaleFactorIcon, scaleFactorIcon, scaleFactorIcon);
+    guiGraphics.blit(miscTexture, Math.round((this.listWidth + 156.0f) / scaleFactorIcon),
+        Math.round((this.height - 10) / scaleFactorIcon), iconPosition, 6, 15, 15, 256, 256);
+    guiGraphics.pose().popPose();
+
+    float scaleFactorText = 0.75f;
+    int fontColor = showOnlyTrackedAdvancements ? 0xFFFF00 : 0xFFFFFF;
+    Component text =
+        Component.translatable(Constants.ADVANCEMENTS_SCREEN_PREFIX + "showOnlyTracked");
+    guiGraphics.pose().pushPose();
+    guiGraphics.pose().scale(scaleFactorText, scaleFactorText, scaleFactorText);
+    guiGraphics.drawString(this.font, text, Math.round((this.listWidth + 168.0f) / scaleFactorText),
+        Math.round((this.height - 8) / scaleFactorText), fontColor);
+    guiGraphics.pose().popPose();
+  }
+
+  private static void toggleShowOnlyTrackedAdvancements() {
+    showOnlyTrackedAdvancements = !showOnlyTrackedAdvancements;
+  }
+
   public boolean showingAdvancementDetail() {
     return this.showAdvancementDetail && this.selectedChildAdvancement != null
         && this.showAdvancementDetailScreen != null;
@@ -349,19 +451,27 @@ public class AdvancementsTrackerScreen extends Screen {
   protected void init() {
     super.init();
 
+    // Widgets of a prepared screen are added again, together with the adopted panels.
+    this.clearWidgets();
+
     // Calculate viewport and general design
-    this.listWidth = Math.max(width / 3, 100);
+    this.listWidth = getCategoryListWidth(width);
     int topPosition = PADDING + 10;
 
     // Panel Positions
     int categoryPanelLeftPosition = 0;
 
-    // Define scroll panels
-    this.advancementCategoryPanel = new AdvancementCategoryPanel(this, this.listWidth, topPosition,
-        categoryPanelLeftPosition, height - STATUS_BAR_HEIGHT);
-    this.advancementOverviewPanel = new AdvancementOverviewPanel(this,
-        width - this.listWidth - (2 * SCROLLBAR_WIDTH) - 1, topPosition,
-        this.advancementCategoryPanel.getWidth() + SCROLLBAR_WIDTH, height - STATUS_BAR_HEIGHT);
+    // Define scroll panels, or adopt the prepared panels as long as the size has not changed.
+    if (this.advancementCategoryPanel == null || this.advancementOverviewPanel == null
+        || this.panelsWidth != width || this.panelsHeight != height) {
+      this.advancementCategoryPanel = new AdvancementCategoryPanel(this, this.listWidth,
+          topPosition, categoryPanelLeftPosition, height - STATUS_BAR_HEIGHT);
+      this.advancementOverviewPanel = new AdvancementOverviewPanel(this,
+          getOverviewListWidth(width), topPosition,
+          this.advancementCategoryPanel.getWidth() + SCROLLBAR_WIDTH, height - STATUS_BAR_HEIGHT);
+      this.panelsWidth = width;
+      this.panelsHeight = height;
+    }
 
     // Add Scroll panels for advancements
     this.addRenderableWidget(this.advancementCategoryPanel);
@@ -389,6 +499,15 @@ public class AdvancementsTrackerScreen extends Screen {
     // Sort Buttons for child Advancements
     reloadChildAdvancements();
 
+    // Search box for advancements over all categories
+    Component searchText = Component.translatable(Constants.ADVANCEMENTS_SCREEN_PREFIX + "search");
+    this.searchBox = new EditBox(this.font, width - SEARCH_BOX_WIDTH - SCROLLBAR_WIDTH - 2, 4,
+        SEARCH_BOX_WIDTH, 12, searchText);
+    this.searchBox.setHint(searchText);
+    this.searchBox.setValue(this.searchQuery);
+    this.searchBox.setResponder(this::updateSearchQuery);
+    this.addRenderableWidget(this.searchBox);
+
     // Cache specific numbers
     this.numberOfRootAdvancements = AdvancementsManager.getNumberOfRootAdvancements();
   }
@@ -397,6 +516,9 @@ public class AdvancementsTrackerScreen extends Screen {
   public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
     this.renderBackground(guiGraphics);
 
+    // Bake new advancement icons, before they are used by the panels.
+    AdvancementIconAtlas.bakePendingIcons(guiGraphics);
+
     // Render panels for category and overview
     this.advancementCategoryPanel.render(guiGraphics, mouseX, mouseY, partialTick);
     this.advancementOverviewPanel.render(guiGraphics, mouseX, mouseY, partialTick);
@@ -417,6 +539,9 @@ public class AdvancementsTrackerScreen extends Screen {
     // Checkbox for show/hide rewarded Advancements
     this.renderOnlyRewardedCheckbox(guiGraphics);
 
+    // Checkbox for show/hide tracked Advancements
+    this.renderOnlyTrackedCheckbox(guiGraphics);
+
     // Advancement details
     if (this.showingAdvancementDetail()) {
       this.showAdvancementDetailScreen.render(guiGraphics, mouseX, mouseY, partialTick);
@@ -452,6 +577,12 @@ public class AdvancementsTrackerScreen extends Screen {
       toggleShowOnlyRewardedAdvancements();
       reloadChildAdvancements();
       return false;
+    } else if (button == 0 && mouseX > this.listWidth + 155.0f && mouseX < this.listWidth + 167.0f
+        && mouseY > this.height - 11) {
+      // Handle clicks on the show only tracked advancements.
+      toggleShowOnlyTrackedAdvancements();
+      reloadChildAdvancements();
+      return false;
     }
     return super.mouseClicked(mouseX, mouseY, button);
   }
@@ -475,6 +606,16 @@ public class AdvancementsTrackerScreen extends Screen {
 
   @Override
   public void tick() {
+    if (this.searchBox != null) {
+      this.searchBox.tick();
+    }
+
+    // Update search results, if new advancements were added to the search index.
+    if (this.searchResults != null && this.searchIndexSize != AdvancementsSearchIndex.size()) {
+      this.searchResults = AdvancementsSearchIndex.search(this.searchQuery);
+      this.searchIndexSize = AdvancementsSearchIndex.size();
+      this.advancementOverviewPanel.refreshList();
+    }
 
     if (!sorted) {
       reloadRootAdvancements(sortType);
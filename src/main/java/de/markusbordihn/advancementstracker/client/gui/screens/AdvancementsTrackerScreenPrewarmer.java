@@ -0,0 +1,200 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.gui.screens;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mojang.blaze3d.platform.Window;
+
+import net.minecraft.client.Minecraft;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntry;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementsManager;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementsSearchIndex;
+import de.markusbordihn.advancementstracker.client.gui.TextLayoutCache;
+import de.markusbordihn.advancementstracker.config.ClientConfig;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics.Metric;
+
+/**
+ * Prepares the overview screen with its panels, list entries and text layouts in small steps while
+ * the game is idle, so that opening the screen only needs to adopt the prepared screen.
+ */
+@EventBusSubscriber(Dist.CLIENT)
+public class AdvancementsTrackerScreenPrewarmer {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final ClientConfig.Config CLIENT = ClientConfig.CLIENT;
+
+  // Time budget per client tick, to avoid any noticeable frame time impact.
+  private static final long TICK_BUDGET_NANOS = 1_000_000L;
+
+  // Ticks without any new advancements, before changes outside an ingest batch are prepared.
+  private static final int IDLE_TICKS = 20;
+
+  private static AdvancementsTrackerScreen preparedScreen;
+  private static boolean batchCommitted = false;
+  private static int documentCursor = 0;
+  private static int idleTicks = 0;
+  private static int observedDocuments = 0;
+  private static int observedRootAdvancements = 0;
+  private static int rootAdvancementsCount = 0;
+  private static int screenHeight = 0;
+  private static int screenWidth = 0;
+  private static int textLayoutVersion = -1;
+
+  protected AdvancementsTrackerScreenPrewarmer() {}
+
+  @SubscribeEvent
+  public static void handleLevelEventLoad(LevelEvent.Load event) {
+    // Ignore server side worlds.
+    if (!event.getLevel().isClientSide()) {
+      return;
+    }
+    reset();
+  }
+
+  @SubscribeEvent
+  public static void handleClientTickEvent(TickEvent.ClientTickEvent event) {
+    if (event.phase != TickEvent.Phase.END
+        || !Boolean.TRUE.equals(CLIENT.overviewEnabled.get())) {
+      return;
+    }
+
+    // Only use idle ticks, the open screen is already calculating its layouts on its own.
+    Minecraft minecraft = Minecraft.getInstance();
+    if (minecraft == null || minecraft.level == null || minecraft.player == null
+        || minecraft.screen instanceof AdvancementsTrackerScreen
+        || AdvancementsManager.getNumberOfRootAdvancements() == 0) {
+      return;
+    }
+
+    // Wait until an ingest batch was committed or the advancements were not changed for a while,
+    // instead of preparing the screen again for every single change.
+    int numberOfDocuments = AdvancementsSearchIndex.size();
+    int numberOfRootAdvancements = AdvancementsManager.getNumberOfRootAdvancements();
+    if (numberOfDocuments != observedDocuments
+        || numberOfRootAdvancements != observedRootAdvancements) {
+      observedDocuments = numberOfDocuments;
+      observedRootAdvancements = numberOfRootAdvancements;
+      idleTicks = batchCommitted ? IDLE_TICKS : 0;
+    }
+    batchCommitted = false;
+    if (idleTicks < IDLE_TICKS) {
+      idleTicks++;
+      return;
+    }
+
+    // Prepare a new screen, if there is none or the prepared screen has the wrong size.
+    Window window = minecraft.getWindow();
+    int width = window.getGuiScaledWidth();
+    int height = window.getGuiScaledHeight();
+    if (preparedScreen == null || width != screenWidth || height != screenHeight
+        || documentCursor > numberOfDocuments) {
+      long startTime = PerformanceMetrics.start();
+      preparedScreen = new AdvancementsTrackerScreen();
+      preparedScreen.prepare(minecraft, width, height);
+      screenWidth = width;
+      screenHeight = height;
+      documentCursor = 0;
+      rootAdvancementsCount = numberOfRootAdvancements;
+      textLayoutVersion = TextLayoutCache.getVersion();
+      PerformanceMetrics.stop(Metric.PREWARM, startTime);
+      log.debug("Prepared advancements screen with size {}x{}", width, height);
+      return;
+    }
+
+    // Text layouts are calculated again, after the layout cache was cleared.
+    if (textLayoutVersion != TextLayoutCache.getVersion()) {
+      textLayoutVersion = TextLayoutCache.getVersion();
+      documentCursor = 0;
+    }
+
+    if (documentCursor >= numberOfDocuments && rootAdvancementsCount == numberOfRootAdvancements) {
+      return;
+    }
+
+    long startTime = PerformanceMetrics.start();
+    long budgetStartTime = System.nanoTime();
+    if (rootAdvancementsCount != numberOfRootAdvancements) {
+      preparedScreen.reloadRootAdvancements();
+      rootAdvancementsCount = numberOfRootAdvancements;
+    }
+
+    boolean hasPendingDocuments = documentCursor < numberOfDocuments;
+    while (documentCursor < numberOfDocuments
+        && System.nanoTime() - budgetStartTime < TICK_BUDGET_NANOS) {
+      AdvancementEntry advancementEntry = AdvancementsSearchIndex.getDocument(documentCursor++);
+      if (advancementEntry != null) {
+        preparedScreen.prepareChildAdvancementEntry(advancementEntry);
+      }
+    }
+    PerformanceMetrics.stop(Metric.PREWARM, startTime);
+
+    if (hasPendingDocuments && documentCursor >= numberOfDocuments) {
+      log.debug("Prepared list entries for {} advancements with size {}x{}", documentCursor,
+          width, height);
+    }
+  }
+
+  /**
+   * Returns the prepared screen, if it matches the current window size. The screen is handed over
+   * only once, a new screen is prepared after the screen was closed.
+   */
+  public static AdvancementsTrackerScreen takePreparedScreen(Minecraft minecraft) {
+    AdvancementsTrackerScreen screen = preparedScreen;
+    Window window = minecraft.getWindow();
+    boolean isMatchingSize = window.getGuiScaledWidth() == screenWidth
+        && window.getGuiScaledHeight() == screenHeight;
+    reset();
+    return isMatchingSize ? screen : null;
+  }
+
+  /**
+   * Marks the advancements as complete, so that the screen is prepared without waiting for idle
+   * ticks.
+   */
+  public static void handleBatchCommitted() {
+    batchCommitted = true;
+  }
+
+  public static void reset() {
+    preparedScreen = null;
+    batchCommitted = false;
+    documentCursor = 0;
+    idleTicks = 0;
+    observedDocuments = 0;
+    observedRootAdvancements = 0;
+    rootAdvancementsCount = 0;
+    screenHeight = 0;
+    screenWidth = 0;
+    textLayoutVersion = -1;
+  }
+
+}
@@ -19,42 +19,28 @@
 
 package de.markusbordihn.advancementstracker.client.gui.widget;
 
-import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.mojang.blaze3d.platform.GlStateManager;
-import com.mojang.blaze3d.platform.Lighting;
-import com.mojang.blaze3d.systems.RenderSystem;
-import com.mojang.blaze3d.vertex.PoseStack;
-
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.ChatScreen;
 import net.minecraft.client.renderer.MultiBufferSource;
-import net.minecraft.client.renderer.entity.ItemRenderer;
-import net.minecraft.client.renderer.texture.OverlayTexture;
-import net.minecraft.client.renderer.texture.TextureAtlas;
-import net.minecraft.client.renderer.texture.TextureManager;
-import net.minecraft.client.resources.model.BakedModel;
-import net.minecraft.locale.Language;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.FormattedText;
 import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.FormattedCharSequence;
-import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.item.ItemDisplayContext;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
 
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.RenderGuiOverlayEvent;
 import net.minecraftforge.client.gui.overlay.VanillaGuiOverlay;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
@@ -63,10 +49,16 @@ import de.markusbordihn.advancementstracker.Constants;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntry;
 import de.markusbordihn.advancementstracker.client.advancements.AdvancementsManager;
 import de.markusbordihn.advancementstracker.client.advancements.TrackedAdvancementsManager;
+import de.markusbordihn.advancementstracker.client.advancements.TrackedAdvancementsSnapshot;
+import de.markusbordihn.advancementstracker.client.gui.AdvancementIconAtlas;
+import de.markusbordihn.advancementstracker.client.gui.TextLayoutCache;
 import de.markusbordihn.advancementstracker.client.keymapping.ModKeyMapping;
 import de.markusbordihn.advancementstracker.config.ClientConfig;
+import de.markusbordihn.advancementstracker.utils.PerformanceMetrics;
+import de.markusbordihn.advancementstracker.utils.gui.ItemIconBatch;
 import de.markusbordihn.advancementstracker.utils.gui.PositionManager;
 import de.markusbordihn.advancementstracker.utils.gui.PositionManager.BasePosition;
+import de.markusbordihn.advancementstracker.utils.gui.RetainedRenderTarget;
 
 @EventBusSubscriber(Dist.CLIENT)
 public class AdvancementsTrackerWidget {
@@ -77,6 +69,8 @@ public class AdvancementsTrackerWidget {
 
   // Pre-defined colors and placeholders
   private static final int BACKGROUND_COLOR = 0x70000000;
+  private static final float ICON_SCALE = 0.65f;
+  private static final float TEXT_Z_OFFSET = 1.0f;
 
   // Pre-defined texts
   private static final String HOT_KEY_ADVANCEMENT_TRACKER =
@@ -106,22 +100,63 @@ public class AdvancementsTrackerWidget {
           .withStyle(ChatFormatting.WHITE);
 
   private static PositionManager positionManager = new PositionManager();
-  private static Set<AdvancementEntry> trackedAdvancements;
+  private static TrackedAdvancementsSnapshot trackedAdvancements =
+      TrackedAdvancementsSnapshot.EMPTY;
   private static boolean hudVisible = true;
+  private static boolean retainedRendering = false;
+  private static boolean modelOutdated = true;
+  private static boolean positionOutdated = true;
+  private static int modelUpdateInterval = 5;
+
+  // Paged mode, to show the tracked advancements which do not fit on the screen.
+  private static boolean nextPageRequested = false;
+  private static int pageStartIndex = 0;
+
+  // Cached layouts for the tracked advancements, to avoid text calculations per frame.
+  private static final Map<ResourceLocation, TrackedAdvancementLayout> trackedAdvancementLayouts =
+      new HashMap<>();
 
   private final Font font;
-  private final ItemRenderer itemRenderer;
+  private final ItemIconBatch itemIconBatch;
   private final Minecraft minecraft;
-  private final TextureManager textureManager;
-
+  private final RetainedRenderTarget retainedRenderTarget;
+  private final Runnable renderManagedAdvancements = this::renderManagedAdvancements;
+
+  // Widget model with the visible tracked advancements, which is updated independent of the
+  // frame rate and re-used by every frame.
+  private TrackedAdvancementsSnapshot modelSnapshot = TrackedAdvancementsSnapshot.EMPTY;
+  private TrackedAdvancementLayout[] visibleLayouts = new TrackedAdvancementLayout[16];
+  private int[] visibleTopPositions = new int[16];
+  private int numberOfVisibleLayouts = 0;
+  private int numberOfHiddenLayouts = 0;
+  private int ellipsisTopPosition = 0;
+  private int layoutVersion = 0;
+
+  // Inputs of the current model, to detect changes without re-calculating the model.
+  private int[] modelProgressVersions = new int[16];
+  private boolean modelHasAdvancements = false;
+  private int modelPageStartIndex = 0;
+  private int modelLayoutVersion = -1;
+  private String modelLanguage = null;
+  private int atlasVersion = -1;
+
+  // Pre-ordered texts of the model, to avoid the visual ordering of components per frame.
+  private FormattedCharSequence ellipsisText = FormattedCharSequence.EMPTY;
+  private FormattedCharSequence notAllVisibleText = FormattedCharSequence.EMPTY;
+  private FormattedCharSequence titleText = FormattedCharSequence.EMPTY;
+  private List<FormattedCharSequence> noAdvancementsLines = List.of();
+  private List<FormattedCharSequence> noTrackedAdvancementsLines = List.of();
+  private int modelUpdateTicks = 0;
+
+  private GuiGraphics managedGuiGraphics;
   private int x;
   private int y;
 
   public AdvancementsTrackerWidget(Minecraft minecraft) {
     this.font = minecraft.font;
-    this.itemRenderer = minecraft.getItemRenderer();
+    this.itemIconBatch = new ItemIconBatch(minecraft);
     this.minecraft = minecraft;
-    this.textureManager = minecraft.getTextureManager();
+    this.retainedRenderTarget = new RetainedRenderTarget(minecraft);
     positionManager.setInstance(minecraft);
     positionManager.setWidth(120);
     positionManager.setHeight(0);
@@ -147,6 +182,15 @@ public class AdvancementsTrackerWidget {
       return;
     }
 
+    modelUpdateInterval = CLIENT.widgetUpdateInterval.get();
+    modelOutdated = true;
+    nextPageRequested = false;
+    pageStartIndex = 0;
+    retainedRendering = CLIENT.widgetRetainedRendering.get();
+    if (retainedRendering) {
+      log.info("Widget will be rendered in retained mode.");
+    }
+
     log.info("Set widget size to {}x{}", CLIENT.widgetWidth.get(), CLIENT.widgetHeight.get());
     positionManager.setHeight(CLIENT.widgetHeight.get());
     positionManager.setWidth(CLIENT.widgetWidth.get());
@@ -158,18 +202,32 @@ public class AdvancementsTrackerWidget {
         CLIENT.widgetLeft.get());
     positionManager.setPositionX(CLIENT.widgetLeft.get());
     positionManager.setPositionY(CLIENT.widgetTop.get());
+    positionOutdated = true;
   }
 
-  @SubscribeEvent()
-  public void renderOverlay(RenderGuiOverlayEvent.Pre event) {
+  @SubscribeEvent
+  public void handleClientTickEvent(TickEvent.ClientTickEvent event) {
+    if (event.phase != TickEvent.Phase.END) {
+      return;
+    }
 
-    // Check if widget is enabled or debug overlay is open and ignore event.
-    if (!hudVisible || this.minecraft.options.renderDebug) {
+    // Skip all model updates, while the widget is not visible.
+    if (!isWidgetVisible()) {
+      modelOutdated = true;
       return;
     }
 
-    // Disable overlay if visibility is disabled or if there is another screen besides chat.
-    if (this.minecraft.screen != null && !(this.minecraft.screen instanceof ChatScreen)) {
+    if (++this.modelUpdateTicks >= modelUpdateInterval) {
+      this.modelUpdateTicks = 0;
+      updateModel();
+    }
+  }
+
+  @SubscribeEvent()
+  public void renderOverlay(RenderGuiOverlayEvent.Pre event) {
+
+    // Check if widget is enabled, the debug overlay or another screen besides chat is open.
+    if (!isWidgetVisible()) {
       return;
     }
 
@@ -178,22 +236,52 @@ public class AdvancementsTrackerWidget {
       return;
     }
 
-    // Use Position Manager for Updates and update x and y reference.
-    positionManager.updateWindow();
-    x = positionManager.getPositionX();
-    y = positionManager.getPositionY();
+    long startTime = PerformanceMetrics.start();
+
+    // Update outdated model directly, e.g. after the widget was hidden or the tracking changed.
+    if (modelOutdated) {
+      updateModel();
+    }
 
     // Get gui graphics and render buffer for additional effects.
     GuiGraphics guiGraphics = event.getGuiGraphics();
 
+    // Bake new advancement icons, before any offscreen target is used.
+    AdvancementIconAtlas.bakePendingIcons(guiGraphics);
+
+    // Retained mode: Only redraw the offscreen target, if the content has changed.
+    if (retainedRendering) {
+      if (this.atlasVersion != AdvancementIconAtlas.getVersion()) {
+        this.atlasVersion = AdvancementIconAtlas.getVersion();
+        this.retainedRenderTarget.markDirty();
+      }
+      if (this.retainedRenderTarget.needsRedraw()) {
+        this.retainedRenderTarget.beginRedraw(guiGraphics);
+        renderWidget(guiGraphics);
+        this.retainedRenderTarget.endRedraw(guiGraphics);
+      }
+      this.retainedRenderTarget.blit(guiGraphics);
+    } else {
+      this.retainedRenderTarget.release();
+      renderWidget(guiGraphics);
+    }
+    PerformanceMetrics.stop(PerformanceMetrics.Metric.WIDGET_RENDER, startTime);
+  }
+
+  private boolean isWidgetVisible() {
+    return hudVisible && !this.minecraft.options.renderDebug && !this.minecraft.options.hideGui
+        && (this.minecraft.screen == null || this.minecraft.screen instanceof ChatScreen);
+  }
+
+  private void renderWidget(GuiGraphics guiGraphics) {
     // Render background and title
     renderTitle(guiGraphics);
 
     // Render tracked advancement or additional hints, if needed.
-    if (TrackedAdvancementsManager.hasTrackedAdvancements()) {
+    if (!this.modelSnapshot.isEmpty()) {
       MultiBufferSource.BufferSource multiBufferSource =
           Minecraft.getInstance().renderBuffers().bufferSource();
-      renderAdvancements(guiGraphics, multiBufferSource, x, y + this.font.lineHeight + 4);
+      renderAdvancements(guiGraphics, multiBufferSource);
     } else if (AdvancementsManager.hasAdvancements()) {
       renderNoTrackedAdvancements(guiGraphics, x, y + this.font.lineHeight + 4);
     } else {
@@ -201,27 +289,146 @@ public class AdvancementsTrackerWidget {
     }
   }
 
+  /**
+   * Updates position and visible tracked advancements, but only re-calculates the visible
+   * advancements if anything relevant has changed since the last update.
+   */
+  private void updateModel() {
+    modelOutdated = false;
+
+    // Only update the x and y reference, if the window was resized or the gui scale has changed.
+    if (positionManager.updateWindow() || positionOutdated) {
+      positionOutdated = false;
+      x = positionManager.getPositionX();
+      y = positionManager.getPositionY();
+      this.layoutVersion++;
+    }
+
+    // Switch to the next page or back to the first page, if the last page was already shown.
+    if (nextPageRequested) {
+      nextPageRequested = false;
+      int nextPageStartIndex = pageStartIndex + this.numberOfVisibleLayouts;
+      pageStartIndex = this.numberOfVisibleLayouts > 0 && this.numberOfHiddenLayouts > 0
+          && nextPageStartIndex < trackedAdvancements.size() ? nextPageStartIndex : 0;
+    } else if (pageStartIndex >= trackedAdvancements.size()) {
+      pageStartIndex = 0;
+    }
+
+    if (isModelUpToDate()) {
+      return;
+    }
+    updateModelInputs();
+    this.retainedRenderTarget.markDirty();
+    this.ellipsisText = Constants.ELLIPSIS.getVisualOrder();
+    this.titleText = ADVANCEMENT_TITLE_TEXT.getVisualOrder();
+
+    // Hints are only split, if there are no tracked advancements to show.
+    if (this.modelSnapshot.isEmpty()) {
+      int hintWidth = positionManager.getWidth() - 10;
+      this.noAdvancementsLines = TextLayoutCache.split(noAdvancementsText, hintWidth);
+      this.noTrackedAdvancementsLines = TextLayoutCache.split(noTrackedAdvancementsText, hintWidth);
+    }
+
+    int maxFontWidth = positionManager.getWidth() - 2;
+    int topPos = y + this.font.lineHeight + 4;
+    int numberOfAdvancements = this.modelSnapshot.size();
+    int numberOfVisibleAdvancements = 0;
+    ensureVisibleAdvancementsCapacity(numberOfAdvancements);
+
+    // Only the slice of the current page which fits on the screen is laid out and rendered.
+    for (int i = pageStartIndex; i < numberOfAdvancements; i++) {
+      // Check if the screen space is big enough to render all advancements.
+      if (topPos + (font.lineHeight * 4) >= positionManager.getWindowHeightScaled()) {
+        break;
+      }
+      TrackedAdvancementLayout layout = getLayout(this.modelSnapshot.get(i), maxFontWidth);
+      this.visibleLayouts[numberOfVisibleAdvancements] = layout;
+      this.visibleTopPositions[numberOfVisibleAdvancements] = topPos;
+      numberOfVisibleAdvancements++;
+      topPos += layout.getHeight() + 2;
+    }
+    for (int i = numberOfVisibleAdvancements; i < this.numberOfVisibleLayouts; i++) {
+      this.visibleLayouts[i] = null;
+    }
+    this.numberOfVisibleLayouts = numberOfVisibleAdvancements;
+    this.numberOfHiddenLayouts = numberOfAdvancements - numberOfVisibleAdvancements;
+    if (this.numberOfHiddenLayouts > 0) {
+      this.notAllVisibleText =
+          Component.translatable(Constants.ADVANCEMENTS_WIDGET_PREFIX + "notAllVisible",
+              pageStartIndex + 1, pageStartIndex + numberOfVisibleAdvancements,
+              numberOfAdvancements).getVisualOrder();
+    }
+    this.ellipsisTopPosition = topPos;
+  }
+
+  private boolean isModelUpToDate() {
+    if (this.modelSnapshot != trackedAdvancements
+        || this.modelHasAdvancements != AdvancementsManager.hasAdvancements()
+        || this.modelPageStartIndex != pageStartIndex
+        || this.modelLayoutVersion != this.layoutVersion
+        || !this.minecraft.getLanguageManager().getSelected().equals(this.modelLanguage)) {
+      return false;
+    }
+    for (int i = 0; i < this.modelSnapshot.size(); i++) {
+      if (this.modelProgressVersions[i] != this.modelSnapshot.get(i).getProgress().getVersion()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void updateModelInputs() {
+    this.modelSnapshot = trackedAdvancements;
+    this.modelHasAdvancements = AdvancementsManager.hasAdvancements();
+    this.modelPageStartIndex = pageStartIndex;
+    this.modelLayoutVersion = this.layoutVersion;
+    this.modelLanguage = this.minecraft.getLanguageManager().getSelected();
+    int numberOfAdvancements = this.modelSnapshot.size();
+    if (this.modelProgressVersions.length < numberOfAdvancements) {
+      this.modelProgressVersions = new int[numberOfAdvancements];
+    }
+    for (int i = 0; i < numberOfAdvancements; i++) {
+      this.modelProgressVersions[i] = this.modelSnapshot.get(i).getProgress().getVersion();
+    }
+  }
+
   public static void reloadConfig() {
+    modelUpdateInterval = CLIENT.widgetUpdateInterval.get();
+    modelOutdated = true;
+    retainedRendering = CLIENT.widgetRetainedRendering.get();
     positionManager.setHeight(CLIENT.widgetHeight.get());
     positionManager.setWidth(CLIENT.widgetWidth.get());
     positionManager.setBasePosition(CLIENT.widgetPosition.get());
     positionManager.setPositionX(CLIENT.widgetLeft.get());
     positionManager.setPositionY(CLIENT.widgetTop.get());
+    positionOutdated = true;
   }
 
   public static void updateTrackedAdvancements() {
-    trackedAdvancements = TrackedAdvancementsManager.getTrackedAdvancements();
+    trackedAdvancements = TrackedAdvancementsManager.getTrackedAdvancementsSnapshot();
+    trackedAdvancementLayouts.values().removeIf(
+        layout -> !TrackedAdvancementsManager.isTrackedAdvancement(layout.getAdvancementEntry()));
+    modelOutdated = true;
   }
 
   public static void toggleVisibility() {
     hudVisible = !hudVisible;
+    modelOutdated = true;
+  }
+
+  public static void nextPage() {
+    if (!hudVisible) {
+      return;
+    }
+    nextPageRequested = true;
+    modelOutdated = true;
   }
 
   private void renderTitle(GuiGraphics guiGraphics) {
     guiGraphics.pose().pushPose();
     guiGraphics.fill(x, y, positionManager.getPositionXWidth(), y + this.font.lineHeight + 2,
         BACKGROUND_COLOR);
-    guiGraphics.drawString(this.font, ADVANCEMENT_TITLE_TEXT, x + 2, y + 2,
+    guiGraphics.drawString(this.font, this.titleText, x + 2, y + 2,
         Constants.FONT_COLOR_GRAY, false);
     guiGraphics.pose().popPose();
   }
@@ -231,8 +438,8 @@ public class AdvancementsTrackerWidget {
     int textContentWidth = positionManager.getWidth();
     guiGraphics.pose().pushPose();
     guiGraphics.fill(x, y, x + textContentWidth, y + textContentHeight, BACKGROUND_COLOR);
-    guiGraphics.drawWordWrap(this.font, noTrackedAdvancementsText, x + 5, y + 5,
-        textContentWidth - 10, textContentHeight - 5);
+    renderLines(guiGraphics, this.noTrackedAdvancementsLines, x + 5, y + 5,
+        textContentHeight - 5);
     guiGraphics.pose().popPose();
   }
 
@@ -241,159 +448,156 @@ public class AdvancementsTrackerWidget {
     int textContentWidth = positionManager.getWidth();
     guiGraphics.pose().pushPose();
     guiGraphics.fill(x, y, x + textContentWidth, y + textContentHeight, BACKGROUND_COLOR);
-    guiGraphics.drawWordWrap(this.font, noAdvancementsText, x + 5, y + 5, textContentWidth - 10,
-        textContentHeight - 5);
+    renderLines(guiGraphics, this.noAdvancementsLines, x + 5, y + 5, textContentHeight - 5);
     guiGraphics.pose().popPose();
   }
 
-  private void renderAdvancements(GuiGraphics guiGraphics,
-      MultiBufferSource.BufferSource multiBufferSource, int x, int y) {
-    guiGraphics.pose().pushPose();
-    int topPos = y;
-    int numberOfAdvancementsRendered = 0;
-    try {
-      for (AdvancementEntry advancementEntry : trackedAdvancements) {
-        // Check if the screen space is big enough to render all advancements.
-        if (topPos + (font.lineHeight * 4) < positionManager.getWindowHeightScaled()) {
-          topPos +=
-              renderAdvancement(guiGraphics, multiBufferSource, x, topPos, advancementEntry) + 2;
-          numberOfAdvancementsRendered++;
-        } else {
-          renderAdvancementEllipsis(guiGraphics, x, topPos, trackedAdvancements.size(),
-              numberOfAdvancementsRendered);
-          break;
-        }
-      }
-    } catch (ConcurrentModificationException exception) {
-      log.debug("Advancement list was modified during rendering. This is expected in some cases.");
+  private void renderLines(GuiGraphics guiGraphics, List<FormattedCharSequence> lines, int x,
+      int y, int color) {
+    int numberOfLines = lines.size();
+    for (int line = 0; line < numberOfLines; line++) {
+      guiGraphics.drawString(this.font, lines.get(line), x, y, color, false);
+      y += this.font.lineHeight;
     }
-    guiGraphics.pose().popPose();
   }
 
-  private void renderAdvancementEllipsis(GuiGraphics guiGraphics, int x, int y,
-      int numberOfAdvancements, int numberOfAdvancementsRendered) {
-
-    // Background
+  private void renderAdvancements(GuiGraphics guiGraphics,
+      MultiBufferSource.BufferSource multiBufferSource) {
+    // Collect all backgrounds and texts and submit them in a single pass.
     guiGraphics.pose().pushPose();
-    guiGraphics.fill(x, y, positionManager.getPositionXWidth(), y + font.lineHeight,
-        BACKGROUND_COLOR);
+    this.managedGuiGraphics = guiGraphics;
+    guiGraphics.drawManaged(this.renderManagedAdvancements);
+    this.managedGuiGraphics = null;
+
+    // Icons from the icon atlas or together with all other icons in one batch.
+    AdvancementIconAtlas.beginBatch();
+    for (int i = 0; i < this.numberOfVisibleLayouts; i++) {
+      renderAdvancementIcon(guiGraphics, this.visibleLayouts[i].getAdvancementEntry(), x,
+          this.visibleTopPositions[i] + this.visibleLayouts[i].getDescriptionOffsetTop());
+    }
+    AdvancementIconAtlas.endBatch(guiGraphics);
+    this.itemIconBatch.render(guiGraphics, multiBufferSource);
     guiGraphics.pose().popPose();
+  }
 
-    // Note that not all tracked advancements are visible.
-    float textScale = 0.75f;
-    Component text = Component.translatable(Constants.ADVANCEMENTS_WIDGET_PREFIX + "notAllVisible",
-        numberOfAdvancementsRendered, numberOfAdvancements);
-    guiGraphics.pose().pushPose();
-    guiGraphics.pose().scale(textScale, textScale, textScale);
-    guiGraphics.drawString(this.font, text, Math.round((x + 16) / textScale),
-        Math.round((y + 2) / textScale), Constants.FONT_COLOR_GRAY);
-    guiGraphics.pose().popPose();
+  private void renderManagedAdvancements() {
+    renderAdvancementBackgrounds(this.managedGuiGraphics, x);
+    renderAdvancementTexts(this.managedGuiGraphics, x);
+    renderAdvancementProgress(this.managedGuiGraphics, x);
   }
 
-  private int renderAdvancement(GuiGraphics guiGraphics,
-      MultiBufferSource.BufferSource multiBufferSource, int x, int y,
-      AdvancementEntry advancementEntry) {
+  private void renderAdvancementBackgrounds(GuiGraphics guiGraphics, int x) {
+    int right = positionManager.getPositionXWidth();
+    for (int i = 0; i < this.numberOfVisibleLayouts; i++) {
+      int top = this.visibleTopPositions[i];
+      guiGraphics.fill(x, top, right, top + this.visibleLayouts[i].getBackgroundHeight(),
+          BACKGROUND_COLOR);
+    }
+    if (this.numberOfHiddenLayouts > 0) {
+      guiGraphics.fill(x, this.ellipsisTopPosition, right,
+          this.ellipsisTopPosition + font.lineHeight, BACKGROUND_COLOR);
+    }
+  }
 
-    // Positions
-    int maxFontWidth = positionManager.getWidth() - 2;
-    int referenceTopPosition = y + 3;
+  private void renderAdvancementTexts(GuiGraphics guiGraphics, int x) {
+    // Title, description and ellipsis are using the same scale.
+    float textScale = TrackedAdvancementLayout.TITLE_SCALE;
     int referenceLeftPosition = x + 2;
-
-    // Pre-calculations
-    float titleScale = 0.75f;
-    int titlePaddingLeft = 10;
-    int titlePaddingRight = advancementEntry.getProgress().getProgressTotal() > 1 ? 20 : 0;
-    int titleWidth = advancementEntry.getTitleWidth() * titleScale > maxFontWidth - titlePaddingLeft
-        - titlePaddingRight
-            ? maxFontWidth - titlePaddingLeft - titlePaddingRight - Math.round(7 * titleScale)
-            : maxFontWidth - titlePaddingLeft - titlePaddingRight;
-    int titleWidthScaled = Math.round(titleWidth / titleScale);
-    FormattedCharSequence titleText = Language.getInstance().getVisualOrder(
-        FormattedText.composite(font.substrByWidth(advancementEntry.getTitle(), titleWidthScaled)));
-
-    float descriptionScale = 0.75f;
-    List<FormattedCharSequence> descriptionParts = font.split(advancementEntry.getDescription(),
-        Math.round(maxFontWidth / descriptionScale) - 3);
-    int descriptionLines = 1;
-
-    // Calculate expected content size
-    int expectedContentSize =
-        Math.round((font.lineHeight * titleScale + 3) + ((font.lineHeight * descriptionScale + 3)
-            * (descriptionParts.size() <= 3 ? descriptionParts.size() : 3)));
-
-    // Background
+    int titleLeftPosition = referenceLeftPosition + TrackedAdvancementLayout.TITLE_PADDING_LEFT;
     guiGraphics.pose().pushPose();
-    guiGraphics.fill(x, y, positionManager.getPositionXWidth(), y + expectedContentSize,
-        BACKGROUND_COLOR);
-    guiGraphics.pose().popPose();
+    guiGraphics.pose().translate(0, 0, TEXT_Z_OFFSET);
+    guiGraphics.pose().scale(textScale, textScale, textScale);
+    for (int i = 0; i < this.numberOfVisibleLayouts; i++) {
+      TrackedAdvancementLayout layout = this.visibleLayouts[i];
+      int referenceTopPosition = this.visibleTopPositions[i] + 3;
+
+      // Title (only one line), with ellipsis if title is to long.
+      guiGraphics.drawString(this.font, layout.getTitleText(),
+          Math.round(titleLeftPosition / textScale), Math.round(referenceTopPosition / textScale),
+          Constants.FONT_COLOR_YELLOW);
+      if (layout.hasTitleEllipsis()) {
+        guiGraphics.drawString(this.font, this.ellipsisText,
+            Math.round((titleLeftPosition / textScale) + layout.getTitleWidthScaled()),
+            Math.round(referenceTopPosition / textScale), Constants.FONT_COLOR_YELLOW, false);
+      }
 
-    // Title (only one line)
-    guiGraphics.pose().pushPose();
-    guiGraphics.pose().scale(titleScale, titleScale, titleScale);
-    guiGraphics.drawString(this.font, titleText,
-        Math.round((referenceLeftPosition + titlePaddingLeft) / titleScale),
-        Math.round(referenceTopPosition / titleScale), Constants.FONT_COLOR_YELLOW);
+      // Description (max three lines), with ellipsis on the last line if needed.
+      referenceTopPosition = this.visibleTopPositions[i] + layout.getDescriptionOffsetTop();
+      List<FormattedCharSequence> descriptionLines = layout.getDescriptionLines();
+      int numberOfDescriptionLines = descriptionLines.size();
+      for (int line = 0; line < numberOfDescriptionLines; line++) {
+        guiGraphics.drawString(this.font, descriptionLines.get(line),
+            Math.round(referenceLeftPosition / textScale),
+            Math.round(referenceTopPosition / textScale), layout.getDescriptionColor());
+        if (line == numberOfDescriptionLines - 1 && layout.hasDescriptionEllipsis()) {
+          guiGraphics.drawString(this.font, this.ellipsisText,
+              Math.round(
+                  (referenceLeftPosition / textScale) + layout.getDescriptionEllipsisOffset()),
+              Math.round(referenceTopPosition / textScale), 0xFFFFFF, false);
+        }
+        referenceTopPosition += font.lineHeight * textScale + 3;
+      }
+    }
 
-    // Show ellipsis if title is to long.
-    if (titleWidth != maxFontWidth - titlePaddingLeft - titlePaddingRight) {
-      guiGraphics.drawString(this.font, Constants.ELLIPSIS,
-          Math.round(((referenceLeftPosition + titlePaddingLeft) / titleScale) + titleWidthScaled),
-          Math.round(referenceTopPosition / titleScale), Constants.FONT_COLOR_YELLOW, false);
+    // Note that not all tracked advancements are visible and which page is shown.
+    if (this.numberOfHiddenLayouts > 0) {
+      guiGraphics.drawString(this.font, this.notAllVisibleText, Math.round((x + 16) / textScale),
+          Math.round((this.ellipsisTopPosition + 2) / textScale), Constants.FONT_COLOR_GRAY);
     }
     guiGraphics.pose().popPose();
+  }
 
+  private void renderAdvancementProgress(GuiGraphics guiGraphics, int x) {
     // Show Progress, if we have more than one requirements.
-    if (advancementEntry.getProgress().getProgressTotal() > 1) {
-      float progressScale = 0.6f;
-      int progressPositionLeft = referenceLeftPosition + maxFontWidth
-          - Math.round(advancementEntry.getProgress().getProgressStringWidth() * progressScale) - 2;
-      guiGraphics.pose().pushPose();
-      guiGraphics.pose().scale(progressScale, progressScale, progressScale);
-      guiGraphics.drawString(this.font, advancementEntry.getProgress().getProgressString(),
-          Math.round(progressPositionLeft / progressScale),
-          Math.round((referenceTopPosition - 1) / progressScale), Constants.FONT_COLOR_YELLOW);
-      guiGraphics.pose().popPose();
-    }
-    referenceTopPosition += font.lineHeight * titleScale + 3;
-
-    // Icon
-    if (advancementEntry.getIcon() != null) {
-      guiGraphics.pose().pushPose();
-      renderGuiItem(advancementEntry.getIcon(), multiBufferSource, referenceLeftPosition - 4,
-          referenceTopPosition - 14, 0.65f);
-      guiGraphics.pose().popPose();
-    }
-
-    // Description (max three lines)
+    float progressScale = TrackedAdvancementLayout.PROGRESS_SCALE;
+    int referenceLeftPosition = x + 2;
     guiGraphics.pose().pushPose();
-    guiGraphics.pose().scale(descriptionScale, descriptionScale, descriptionScale);
-    for (FormattedCharSequence descriptionPart : descriptionParts) {
-      boolean shouldEnd = false;
-      guiGraphics.drawString(this.font, descriptionPart,
-          Math.round(referenceLeftPosition / descriptionScale),
-          Math.round(referenceTopPosition / descriptionScale),
-          advancementEntry.getDescriptionColor());
-      if ((descriptionParts.size() >= 3 && descriptionLines == 3)) {
-        guiGraphics.drawString(this.font, Constants.ELLIPSIS, Math.round((referenceLeftPosition
-            / descriptionScale)
-            + ((font.width(descriptionPart) / descriptionScale) < maxFontWidth / descriptionScale
-                - 3 ? (font.width(descriptionPart) / descriptionScale) - 7
-                    : (maxFontWidth / descriptionScale) - 7)),
-            Math.round(referenceTopPosition / descriptionScale), 0xFFFFFF, false);
-        shouldEnd = true;
-      } else if (descriptionParts.size() == 2 && descriptionLines == 2) {
-        shouldEnd = true;
+    guiGraphics.pose().translate(0, 0, TEXT_Z_OFFSET);
+    guiGraphics.pose().scale(progressScale, progressScale, progressScale);
+    for (int i = 0; i < this.numberOfVisibleLayouts; i++) {
+      TrackedAdvancementLayout layout = this.visibleLayouts[i];
+      if (layout.hasProgress()) {
+        int progressPositionLeft = referenceLeftPosition + layout.getProgressOffsetLeft();
+        guiGraphics.drawString(this.font, layout.getProgressString(),
+            Math.round(progressPositionLeft / progressScale),
+            Math.round((this.visibleTopPositions[i] + 2) / progressScale),
+            Constants.FONT_COLOR_YELLOW);
       }
-      referenceTopPosition += font.lineHeight * descriptionScale + 3;
-      if (shouldEnd) {
-        break;
-      }
-      descriptionLines++;
     }
     guiGraphics.pose().popPose();
+  }
 
-    // Return actual content position
-    return referenceTopPosition - y;
+  private void renderAdvancementIcon(GuiGraphics guiGraphics, AdvancementEntry advancementEntry,
+      int x, int descriptionTopPosition) {
+    if (advancementEntry.getIcon() == null) {
+      return;
+    }
+    int iconLeftPosition = x + 2 - 4;
+    int iconTopPosition = descriptionTopPosition - 14;
+    if (!AdvancementIconAtlas.blit(guiGraphics, advancementEntry.getIcon(),
+        iconLeftPosition + 8 - 8 * ICON_SCALE, iconTopPosition + 8 - 8 * ICON_SCALE,
+        16 * ICON_SCALE)) {
+      this.itemIconBatch.add(advancementEntry.getIcon(), iconLeftPosition, iconTopPosition,
+          ICON_SCALE);
+    }
+  }
+
+  private void ensureVisibleAdvancementsCapacity(int capacity) {
+    if (this.visibleLayouts.length < capacity) {
+      int newCapacity = Math.max(capacity, this.visibleLayouts.length * 2);
+      this.visibleLayouts = new TrackedAdvancementLayout[newCapacity];
+      this.visibleTopPositions = new int[newCapacity];
+    }
+  }
+
+  private TrackedAdvancementLayout getLayout(AdvancementEntry advancementEntry, int maxFontWidth) {
+    String language = this.minecraft.getLanguageManager().getSelected();
+    TrackedAdvancementLayout layout = trackedAdvancementLayouts.get(advancementEntry.getId());
+    if (layout == null || !layout.isValid(advancementEntry, maxFontWidth, language)) {
+      layout = TrackedAdvancementLayout.create(this.font, advancementEntry, maxFontWidth, language);
+      trackedAdvancementLayouts.put(advancementEntry.getId(), layout);
+    }
+    return layout;
   }
 
   private static void updatePredefinedText() {
@@ -418,50 +622,4 @@ public class AdvancementsTrackerWidget {
             .withStyle(ChatFormatting.WHITE);
   }
 
-  /**
-   * @deprecated
-   */
-  @Deprecated
-  private void renderGuiItem(ItemStack itemStack, MultiBufferSource.BufferSource multiBufferSource,
-      int x, int y, float scale) {
-    this.renderGuiItem(itemStack, multiBufferSource, x, y, scale,
-        itemRenderer.getModel(itemStack, (Level) null, (LivingEntity) null, 0));
-  }
-
-  /**
-   * @deprecated
-   */
-  @Deprecated
-  private void renderGuiItem(ItemStack itemStack, MultiBufferSource.BufferSource multiBufferSource,
-      int x, int y, float scale, BakedModel model) {
-    this.textureManager.getTexture(TextureAtlas.LOCATION_BLOCKS).setFilter(false, false);
-    RenderSystem.setShaderTexture(0, TextureAtlas.LOCATION_BLOCKS);
-    RenderSystem.enableBlend();
-    RenderSystem.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA,
-        GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
-    RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
-    PoseStack modelPoseStack = RenderSystem.getModelViewStack();
-    modelPoseStack.pushPose();
-    modelPoseStack.translate(x, y, 100.0F);
-    modelPoseStack.translate(8.0D, 8.0D, 0.0D);
-    modelPoseStack.scale(scale, -scale, scale);
-    modelPoseStack.scale(16.0F, 16.0F, 16.0F);
-
-    RenderSystem.applyModelViewMatrix();
-    PoseStack modelPoseStack1 = new PoseStack();
-    boolean flag = !model.usesBlockLight();
-    if (flag) {
-      Lighting.setupForFlatItems();
-    }
-    itemRenderer.render(itemStack, ItemDisplayContext.GUI, false, modelPoseStack1,
-        multiBufferSource, 15728880, OverlayTexture.NO_OVERLAY, model);
-    multiBufferSource.endBatch();
-    RenderSystem.enableDepthTest();
-    if (flag) {
-      Lighting.setupFor3DItems();
-    }
-    modelPoseStack.popPose();
-    RenderSystem.applyModelViewMatrix();
-  }
-
 }
@@ -0,0 +1,191 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.client.gui.widget;
+
+import java.util.List;
+
+import net.minecraft.client.gui.Font;
+import net.minecraft.util.FormattedCharSequence;
+
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntry;
+import de.markusbordihn.advancementstracker.client.advancements.AdvancementEntryProgress;
+import de.markusbordihn.advancementstracker.client.gui.TextLayoutCache;
+
+public final class TrackedAdvancementLayout {
+
+  public static final float TITLE_SCALE = 0.75f;
+  public static final float DESCRIPTION_SCALE = 0.75f;
+  public static final float PROGRESS_SCALE = 0.6f;
+  public static final int TITLE_PADDING_LEFT = 10;
+  public static final int MAX_DESCRIPTION_LINES = 3;
+
+  // Cache key
+  private final AdvancementEntry advancementEntry;
+  private final int maxFontWidth;
+  private final int progressVersion;
+  private final String language;
+
+  // Title (only one line) with optional ellipsis.
+  private final FormattedCharSequence titleText;
+  private final boolean titleEllipsis;
+  private final int titleWidthScaled;
+
+  // Progress, if we have more than one requirements.
+  private final String progressString;
+  private final int progressOffsetLeft;
+
+  // Description (max three lines) with optional ellipsis on the last line.
+  private final List<FormattedCharSequence> descriptionLines;
+  private final boolean descriptionEllipsis;
+  private final float descriptionEllipsisOffset;
+  private final int descriptionColor;
+  private final int descriptionOffsetTop;
+
+  // Sizes
+  private final int backgroundHeight;
+  private final int height;
+
+  private TrackedAdvancementLayout(Font font, AdvancementEntry advancementEntry, int maxFontWidth,
+      String language) {
+    AdvancementEntryProgress progress = advancementEntry.getProgress();
+    this.advancementEntry = advancementEntry;
+    this.maxFontWidth = maxFontWidth;
+    this.progressVersion = progress.getVersion();
+    this.language = language;
+
+    // Title
+    int titlePaddingRight = progress.getProgressTotal() > 1 ? 20 : 0;
+    int titleMaxWidth = maxFontWidth - TITLE_PADDING_LEFT - titlePaddingRight;
+    int titleWidth = advancementEntry.getTitleWidth() * TITLE_SCALE > titleMaxWidth
+        ? titleMaxWidth - Math.round(7 * TITLE_SCALE)
+        : titleMaxWidth;
+    this.titleWidthScaled = Math.round(titleWidth / TITLE_SCALE);
+    this.titleText =
+        TextLayoutCache.substrByWidth(advancementEntry.getTitle(), this.titleWidthScaled);
+    this.titleEllipsis = titleWidth != titleMaxWidth;
+
+    // Progress
+    if (progress.getProgressTotal() > 1) {
+      this.progressString = progress.getProgressString();
+      this.progressOffsetLeft =
+          maxFontWidth - Math.round(progress.getProgressStringWidth() * PROGRESS_SCALE) - 2;
+    } else {
+      this.progressString = null;
+      this.progressOffsetLeft = 0;
+    }
+
+    // Description
+    List<FormattedCharSequence> descriptionParts = TextLayoutCache
+        .split(advancementEntry.getDescription(), Math.round(maxFontWidth / DESCRIPTION_SCALE) - 3);
+    int numberOfDescriptionLines = Math.min(descriptionParts.size(), MAX_DESCRIPTION_LINES);
+    this.descriptionLines = List.copyOf(descriptionParts.subList(0, numberOfDescriptionLines));
+    if (descriptionParts.size() >= MAX_DESCRIPTION_LINES) {
+      float lastLineWidth =
+          font.width(this.descriptionLines.get(numberOfDescriptionLines - 1)) / DESCRIPTION_SCALE;
+      float maxWidth = maxFontWidth / DESCRIPTION_SCALE;
+      this.descriptionEllipsis = true;
+      this.descriptionEllipsisOffset =
+          lastLineWidth < maxWidth - 3 ? lastLineWidth - 7 : maxWidth - 7;
+    } else {
+      this.descriptionEllipsis = false;
+      this.descriptionEllipsisOffset = 0;
+    }
+    this.descriptionColor = advancementEntry.getDescriptionColor();
+
+    // Sizes, relative to the top position.
+    int referenceTopPosition = 3;
+    referenceTopPosition += font.lineHeight * TITLE_SCALE + 3;
+    this.descriptionOffsetTop = referenceTopPosition;
+    for (int i = 0; i < numberOfDescriptionLines; i++) {
+      referenceTopPosition += font.lineHeight * DESCRIPTION_SCALE + 3;
+    }
+    this.height = referenceTopPosition;
+    this.backgroundHeight = Math.round((font.lineHeight * TITLE_SCALE + 3)
+        + ((font.lineHeight * DESCRIPTION_SCALE + 3) * numberOfDescriptionLines));
+  }
+
+  public static TrackedAdvancementLayout create(Font font, AdvancementEntry advancementEntry,
+      int maxFontWidth, String language) {
+    return new TrackedAdvancementLayout(font, advancementEntry, maxFontWidth, language);
+  }
+
+  public boolean isValid(AdvancementEntry advancementEntry, int maxFontWidth, String language) {
+    return this.advancementEntry == advancementEntry && this.maxFontWidth == maxFontWidth
+        && this.progressVersion == advancementEntry.getProgress().getVersion()
+        && this.language.equals(language);
+  }
+
+  public AdvancementEntry getAdvancementEntry() {
+    return this.advancementEntry;
+  }
+
+  public FormattedCharSequence getTitleText() {
+    return this.titleText;
+  }
+
+  public boolean hasTitleEllipsis() {
+    return this.titleEllipsis;
+  }
+
+  public int getTitleWidthScaled() {
+    return this.titleWidthScaled;
+  }
+
+  public boolean hasProgress() {
+    return this.progressString != null;
+  }
+
+  public String getProgressString() {
+    return this.progressString;
+  }
+
+  public int getProgressOffsetLeft() {
+    return this.progressOffsetLeft;
+  }
+
+  public List<FormattedCharSequence> getDescriptionLines() {
+    return this.descriptionLines;
+  }
+
+  public boolean hasDescriptionEllipsis() {
+    return this.descriptionEllipsis;
+  }
+
+  public float getDescriptionEllipsisOffset() {
+    return this.descriptionEllipsisOffset;
+  }
+
+  public int getDescriptionColor() {
+    return this.descriptionColor;
+  }
+
+  public int getDescriptionOffsetTop() {
+    return this.descriptionOffsetTop;
+  }
+
+  public int getBackgroundHeight() {
+    return this.backgroundHeight;
+  }
+
+  public int getHeight() {
+    return this.height;
+  }
+
+}
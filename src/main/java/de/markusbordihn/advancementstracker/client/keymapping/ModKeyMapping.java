@@ -58,6 +58,10 @@ public class ModKeyMapping {
       Constants.KEY_PREFIX + "show_overview", KeyConflictContext.IN_GAME, KeyModifier.CONTROL,
       InputConstants.Type.KEYSYM.getOrCreate(GLFW.GLFW_KEY_L), Constants.KEY_PREFIX + "category");
 
+  public static final KeyMapping KEY_NEXT_PAGE = new KeyMapping(
+      Constants.KEY_PREFIX + "next_page", KeyConflictContext.IN_GAME, KeyModifier.ALT,
+      InputConstants.Type.KEYSYM.getOrCreate(GLFW.GLFW_KEY_N), Constants.KEY_PREFIX + "category");
+
   @SubscribeEvent
   public static void handleKeyboardKeyPressedEvent(InputEvent.Key event) {
     if (ModKeyMapping.KEY_SHOW_WIDGET.isDown() && Boolean.TRUE.equals(CLIENT.widgetEnabled.get())) {
@@ -67,6 +71,10 @@ public class ModKeyMapping {
         && Boolean.TRUE.equals(CLIENT.overviewEnabled.get())) {
       log.debug("Show/hide Advancements Overview ...");
       AdvancementsTrackerScreen.toggleVisibility();
+    } else if (ModKeyMapping.KEY_NEXT_PAGE.isDown()
+        && Boolean.TRUE.equals(CLIENT.widgetEnabled.get())) {
+      log.debug("Show next Advancements Widget page ...");
+      AdvancementsTrackerWidget.nextPage();
     }
   }
 
@@ -75,5 +83,6 @@ public class ModKeyMapping {
 
     event.register(ModKeyMapping.KEY_SHOW_WIDGET);
     event.register(ModKeyMapping.KEY_SHOW_OVERVIEW);
+    event.register(ModKeyMapping.KEY_NEXT_PAGE);
   }
 }
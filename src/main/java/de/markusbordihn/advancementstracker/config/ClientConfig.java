@@ -35,6 +35,7 @@ import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.config.ModConfigEvent;
 
 import de.markusbordihn.advancementstracker.Constants;
+import de.markusbordihn.advancementstracker.client.debug.PerformanceMetricsManager;
 import de.markusbordihn.advancementstracker.client.gui.widget.AdvancementsTrackerWidget;
 import de.markusbordihn.advancementstracker.utils.gui.PositionManager.BasePosition;
 
@@ -68,8 +69,11 @@ public class ClientConfig {
     public final ForgeConfigSpec.IntValue widgetWidth;
     public final ForgeConfigSpec.IntValue widgetTop;
     public final ForgeConfigSpec.IntValue widgetLeft;
+    public final ForgeConfigSpec.IntValue widgetUpdateInterval;
+    public final ForgeConfigSpec.BooleanValue widgetRetainedRendering;
 
     public final ForgeConfigSpec.ConfigValue<String> logLevel;
+    public final ForgeConfigSpec.BooleanValue debugMetrics;
 
     public final ForgeConfigSpec.ConfigValue<List<String>> trackedAdvancements;
     public final ForgeConfigSpec.ConfigValue<List<String>> trackedAdvancementsRemote;
@@ -80,7 +84,8 @@ public class ClientConfig {
 
       builder.push("general");
       trackedAdvancements =
-          builder.comment("List of default tracked advancements, mostly used by mod packs.")
+          builder.comment("List of default tracked advancements, mostly used by mod packs.",
+              "Supports patterns with a trailing * like mymod:* or mymod:quests/*")
               .define("trackedAdvancements", new ArrayList<String>(Arrays.asList("")));
       builder.pop();
 
@@ -107,18 +112,30 @@ public class ClientConfig {
           .defineInRange("widgetTop", 0, -400, 400);
       widgetLeft = builder.comment("Defines the left position relative to the widget position.")
           .defineInRange("widgetLeft", 0, -400, 400);
+      widgetUpdateInterval = builder.comment(
+          "Defines how often (in ticks) the widget content is updated. Changes of the tracked advancements are always shown directly.")
+          .defineInRange("widgetUpdateInterval", 5, 1, 200);
+      widgetRetainedRendering = builder.comment(
+          "Renders the widget into an offscreen texture, which is only redrawn if the content changes. (experimental)",
+          "Disable this if the widget is not displayed correctly together with shader or render mods.")
+          .define("widgetRetainedRendering", false);
       builder.pop();
 
       builder.push("Debug");
       logLevel = builder.comment("Changed the default log level to get more output.")
           .define("logLevel", "info");
+      debugMetrics = builder.comment(
+          "Collects performance metrics, which are shown in the debug overlay (F3) and with the command /advancements_tracker metrics.")
+          .define("debugMetrics", false);
       builder.pop();
 
       builder.push("cache");
-      trackedAdvancementsRemote =
-          builder.define("trackedAdvancementsRemote", new ArrayList<String>(Arrays.asList("")));
-      trackedAdvancementsLocal =
-          builder.define("trackedAdvancementsLocal", new ArrayList<String>(Arrays.asList("")));
+      trackedAdvancementsRemote = builder
+          .comment("Legacy cache, will be migrated automatically to config/advancements_tracker/")
+          .define("trackedAdvancementsRemote", new ArrayList<String>(Arrays.asList("")));
+      trackedAdvancementsLocal = builder
+          .comment("Legacy cache, will be migrated automatically to config/advancements_tracker/")
+          .define("trackedAdvancementsLocal", new ArrayList<String>(Arrays.asList("")));
       builder.pop();
     }
   }
@@ -127,6 +144,7 @@ public class ClientConfig {
   public static void onConfigReloading(final ModConfigEvent.Reloading configEvent) {
     if (configEvent.getConfig().getSpec() == ClientConfig.clientSpec) {
       AdvancementsTrackerWidget.reloadConfig();
+      PerformanceMetricsManager.reloadConfig();
     }
   }
 
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.markusbordihn.advancementstracker.Constants;
+
+public class DebouncedWriter {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private final String name;
+  private final long delay;
+  private final Runnable writer;
+  private final ScheduledExecutorService executor;
+  private final Object writeLock = new Object();
+
+  private ScheduledFuture<?> pendingWrite;
+  private boolean dirty = false;
+
+  public DebouncedWriter(String name, long delay, TimeUnit timeUnit, Runnable writer) {
+    this.name = name;
+    this.delay = timeUnit.toMillis(delay);
+    this.writer = writer;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, Constants.MOD_NAME + " " + name);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Marks the data as changed. All changes until the delayed write are coalesced into a single
+   * write on the background thread.
+   */
+  public synchronized void markDirty() {
+    this.dirty = true;
+    if (this.pendingWrite == null) {
+      this.pendingWrite = this.executor.schedule(this::write, this.delay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Writes any pending changes immediately on the calling thread, e.g. on disconnect or shutdown.
+   */
+  public void flush() {
+    synchronized (this) {
+      if (this.pendingWrite != null) {
+        this.pendingWrite.cancel(false);
+      }
+    }
+    write();
+  }
+
+  private void write() {
+    synchronized (this.writeLock) {
+      synchronized (this) {
+        this.pendingWrite = null;
+        if (!this.dirty) {
+          return;
+        }
+        this.dirty = false;
+      }
+      try {
+        this.writer.run();
+      } catch (Exception exception) {
+        log.error("Unable to write {}: {}", this.name, exception);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class PerformanceMetrics {
+
+  private static final int NUMBER_OF_BUCKETS = 64;
+
+  private static volatile boolean enabled = false;
+
+  public enum Metric {
+    WIDGET_RENDER("widget_render"),
+    PANEL_ENTRY_RENDER("panel_entry_render"),
+    LISTENER_CALLBACK("listener_callback"),
+    INGEST_BATCH("ingest_batch"),
+    RESYNC("resync"),
+    SAVE("save"),
+    PREWARM("prewarm");
+
+    private final String name;
+    private final Histogram histogram = new Histogram();
+
+    Metric(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public Histogram getHistogram() {
+      return this.histogram;
+    }
+  }
+
+  protected PerformanceMetrics() {}
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    PerformanceMetrics.enabled = enabled;
+  }
+
+  /**
+   * Returns the start time for a measurement or 0, if metrics are disabled. This keeps the costs
+   * for disabled metrics to a single volatile read.
+   */
+  public static long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  public static void stop(Metric metric, long startTime) {
+    if (startTime != 0L) {
+      metric.histogram.record(System.nanoTime() - startTime);
+    }
+  }
+
+  public static void reset() {
+    for (Metric metric : Metric.values()) {
+      metric.histogram.reset();
+    }
+  }
+
+  public static String format(Metric metric) {
+    Histogram histogram = metric.histogram;
+    return String.format("%s n=%d avg=%s p50=%s p95=%s p99=%s max=%s", metric.name,
+        histogram.getCount(), formatNanos(histogram.getAverage()),
+        formatNanos(histogram.getPercentile(0.50)), formatNanos(histogram.getPercentile(0.95)),
+        formatNanos(histogram.getPercentile(0.99)), formatNanos(histogram.getMax()));
+  }
+
+  private static String formatNanos(long nanos) {
+    if (nanos >= 1_000_000L) {
+      return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+    return String.format("%.1fus", nanos / 1_000.0);
+  }
+
+  /**
+   * Lock-free histogram with power of two buckets, which is precise enough for percentiles of
+   * timings and could be updated from the render and the background writer thread.
+   */
+  public static class Histogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+      long value = Math.max(1L, nanos);
+      this.buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(value));
+      this.count.incrementAndGet();
+      this.sum.addAndGet(value);
+      this.max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+      return this.count.get();
+    }
+
+    public long getAverage() {
+      long numberOfValues = this.count.get();
+      return numberOfValues > 0 ? this.sum.get() / numberOfValues : 0L;
+    }
+
+    public long getMax() {
+      return this.max.get();
+    }
+
+    /**
+     * Returns the upper bound of the bucket which contains the given percentile.
+     */
+    public long getPercentile(double percentile) {
+      long numberOfValues = this.count.get();
+      if (numberOfValues == 0) {
+        return 0L;
+      }
+      long threshold = (long) Math.ceil(numberOfValues * percentile);
+      long seen = 0;
+      for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+        seen += this.buckets.get(i);
+        if (seen >= threshold) {
+          return i >= 62 ? this.max.get() : Math.min(1L << (i + 1), this.max.get());
+        }
+      }
+      return this.max.get();
+    }
+
+    public void reset() {
+      for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+        this.buckets.set(i, 0L);
+      }
+      this.count.set(0L);
+      this.sum.set(0L);
+      this.max.set(0L);
+    }
+  }
+
+}
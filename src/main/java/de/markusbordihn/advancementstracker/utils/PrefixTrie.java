@@ -0,0 +1,75 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PrefixTrie {
+
+  private final Node root = new Node();
+  private int size = 0;
+
+  public void add(String prefix) {
+    Node node = this.root;
+    for (int i = 0; i < prefix.length(); i++) {
+      node = node.children.computeIfAbsent(prefix.charAt(i), character -> new Node());
+    }
+    if (!node.isPrefix) {
+      node.isPrefix = true;
+      this.size++;
+    }
+  }
+
+  /**
+   * Returns true, if any of the stored prefixes is a prefix of the given value. The lookup costs
+   * are only depending on the length of the value and not on the number of stored prefixes.
+   */
+  public boolean matches(String value) {
+    Node node = this.root;
+    if (node.isPrefix) {
+      return true;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      node = node.children.get(value.charAt(i));
+      if (node == null) {
+        return false;
+      }
+      if (node.isPrefix) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  private static class Node {
+    private final Map<Character, Node> children = new HashMap<>();
+    private boolean isPrefix = false;
+  }
+
+}
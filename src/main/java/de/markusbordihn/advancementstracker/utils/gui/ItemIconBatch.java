@@ -0,0 +1,163 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.utils.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Lighting;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.PoseStack;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.entity.ItemRenderer;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemDisplayContext;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+
+public class ItemIconBatch {
+
+  private static final int FULL_BRIGHT = 15728880;
+
+  private final ItemRenderer itemRenderer;
+  private final Minecraft minecraft;
+
+  // Re-used icon entries, grouped by the needed lighting.
+  private final List<ItemIcon> flatItemIcons = new ArrayList<>();
+  private final List<ItemIcon> blockLightItemIcons = new ArrayList<>();
+  private int numberOfFlatItemIcons = 0;
+  private int numberOfBlockLightItemIcons = 0;
+
+  public ItemIconBatch(Minecraft minecraft) {
+    this.itemRenderer = minecraft.getItemRenderer();
+    this.minecraft = minecraft;
+  }
+
+  public void add(ItemStack itemStack, int x, int y, float scale) {
+    if (itemStack == null || itemStack.isEmpty()) {
+      return;
+    }
+    BakedModel model = itemRenderer.getModel(itemStack, (Level) null, (LivingEntity) null, 0);
+    if (model.usesBlockLight()) {
+      nextItemIcon(this.blockLightItemIcons, this.numberOfBlockLightItemIcons++).set(itemStack,
+          model, x, y, scale);
+    } else {
+      nextItemIcon(this.flatItemIcons, this.numberOfFlatItemIcons++).set(itemStack, model, x, y,
+          scale);
+    }
+  }
+
+  /**
+   * Renders all collected icons with one buffer flush per lighting group, instead of setting up
+   * the render state and flushing the buffer for every single icon.
+   */
+  public void render(GuiGraphics guiGraphics, MultiBufferSource.BufferSource multiBufferSource) {
+    if (this.numberOfFlatItemIcons == 0 && this.numberOfBlockLightItemIcons == 0) {
+      return;
+    }
+
+    // Setup render state once for all icons.
+    this.minecraft.getTextureManager().getTexture(TextureAtlas.LOCATION_BLOCKS).setFilter(false,
+        false);
+    RenderSystem.setShaderTexture(0, TextureAtlas.LOCATION_BLOCKS);
+    RenderSystem.enableBlend();
+    RenderSystem.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA,
+        GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+    RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
+
+    // Flush pending draws, so that they are not affected by the item lighting.
+    multiBufferSource.endBatch();
+
+    PoseStack poseStack = guiGraphics.pose();
+    if (this.numberOfFlatItemIcons > 0) {
+      Lighting.setupForFlatItems();
+      for (int i = 0; i < this.numberOfFlatItemIcons; i++) {
+        renderItemIcon(poseStack, multiBufferSource, this.flatItemIcons.get(i));
+      }
+      multiBufferSource.endBatch();
+      Lighting.setupFor3DItems();
+    }
+    if (this.numberOfBlockLightItemIcons > 0) {
+      for (int i = 0; i < this.numberOfBlockLightItemIcons; i++) {
+        renderItemIcon(poseStack, multiBufferSource, this.blockLightItemIcons.get(i));
+      }
+      multiBufferSource.endBatch();
+    }
+    RenderSystem.enableDepthTest();
+    clear();
+  }
+
+  public void clear() {
+    for (int i = 0; i < this.numberOfFlatItemIcons; i++) {
+      this.flatItemIcons.get(i).clear();
+    }
+    for (int i = 0; i < this.numberOfBlockLightItemIcons; i++) {
+      this.blockLightItemIcons.get(i).clear();
+    }
+    this.numberOfFlatItemIcons = 0;
+    this.numberOfBlockLightItemIcons = 0;
+  }
+
+  private void renderItemIcon(PoseStack poseStack,
+      MultiBufferSource.BufferSource multiBufferSource, ItemIcon itemIcon) {
+    poseStack.pushPose();
+    poseStack.translate(itemIcon.x + 8.0F, itemIcon.y + 8.0F, 100.0F);
+    poseStack.scale(itemIcon.scale * 16.0F, -itemIcon.scale * 16.0F, itemIcon.scale * 16.0F);
+    itemRenderer.render(itemIcon.itemStack, ItemDisplayContext.GUI, false, poseStack,
+        multiBufferSource, FULL_BRIGHT, OverlayTexture.NO_OVERLAY, itemIcon.model);
+    poseStack.popPose();
+  }
+
+  private static ItemIcon nextItemIcon(List<ItemIcon> itemIcons, int index) {
+    if (index >= itemIcons.size()) {
+      itemIcons.add(new ItemIcon());
+    }
+    return itemIcons.get(index);
+  }
+
+  private static class ItemIcon {
+    private ItemStack itemStack;
+    private BakedModel model;
+    private int x;
+    private int y;
+    private float scale;
+
+    private void set(ItemStack itemStack, BakedModel model, int x, int y, float scale) {
+      this.itemStack = itemStack;
+      this.model = model;
+      this.x = x;
+      this.y = y;
+      this.scale = scale;
+    }
+
+    private void clear() {
+      this.itemStack = null;
+      this.model = null;
+    }
+  }
+
+}
@@ -32,8 +32,6 @@ public class PositionManager {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
-  private static final int HOTBAR_RIGHT = 90;
-  private static final int HOTBAR_LEFT = -90;
   private static final int SAFE_AREA = 25;
 
   private PositionPoint position = new PositionPoint();
@@ -63,69 +61,32 @@ public class PositionManager {
     updateWindow();
   }
 
-  public PositionPoint getTopLeft() {
-    return new PositionPoint(0, 0);
-  }
-
-  public PositionPoint getTopRight() {
-    return new PositionPoint(this.guiScaledWidth - getWidthOrDefault(), 0);
-  }
-
-  public PositionPoint getBottomLeft() {
-    return new PositionPoint(0, this.guiScaledHeight - getHeightOrDefault());
-  }
-
-  public PositionPoint getBottomRight() {
-    return new PositionPoint(this.guiScaledWidth - getWidthOrDefault(),
-        this.guiScaledHeight - getHeightOrDefault());
-  }
-
-  public PositionPoint getMiddleLeft() {
-    return new PositionPoint(0, this.guiScaledHeight / 2 - getHeightOrDefault() / 2);
-  }
-
-  public PositionPoint getMiddleRight() {
-    return new PositionPoint(this.guiScaledWidth - this.width,
-        this.guiScaledHeight / 2 - getHeightOrDefault() / 2);
-  }
-
-  public PositionPoint getHotbarLeft() {
-    return new PositionPoint(this.guiScaledWidth / 2 + HOTBAR_LEFT - getWidthOrDefault(),
-        this.guiScaledHeight - getHeightOrDefault());
-  }
-
-  public PositionPoint getHotbarRight() {
-    return new PositionPoint(this.guiScaledWidth / 2 + HOTBAR_RIGHT,
-        this.guiScaledHeight - getHeightOrDefault());
-  }
-
   public void setBasePosition(BasePosition basePosition) {
     this.basePosition = basePosition;
     updateBasePosition();
   }
 
   public void updateBasePosition() {
+    // Offsets are set directly, to avoid temporary position points for every update.
     switch (this.basePosition) {
       case TOP_LEFT:
-        this.position.setOffset(getTopLeft());
+        this.position.setOffset(0, 0);
         break;
       case TOP_RIGHT:
-        this.position.setOffset(getTopRight());
+        this.position.setOffset(getRightX(), 0);
         break;
       case BOTTOM_LEFT:
-        this.position.setOffset(getBottomLeft());
+        this.position.setOffset(0, getBottomY());
         break;
       case BOTTOM_RIGHT:
-        this.position.setOffset(getBottomRight());
+        this.position.setOffset(getRightX(), getBottomY());
         break;
       case MIDDLE_LEFT:
-        this.position.setOffset(getMiddleLeft());
+        this.position.setOffset(0, getMiddleY());
         break;
       case MIDDLE_RIGHT:
-        this.position.setOffset(getMiddleRight());
-        break;
       default:
-        this.position.setOffset(getMiddleRight());
+        this.position.setOffset(this.guiScaledWidth - this.width, getMiddleY());
     }
   }
 
@@ -201,20 +162,43 @@ public class PositionManager {
     this.position = position;
   }
 
-  public void updateWindow() {
+  /**
+   * Checks the scaled window size and only re-calculates the base position, if the window was
+   * resized or the gui scale has changed.
+   *
+   * @return true if the window size has changed
+   */
+  public boolean updateWindow() {
     if (window == null) {
-      return;
+      return false;
     }
-    int currentGuiScaledWidth = window.getGuiScaledWidth();
-    int currentGuiScaleHeight = window.getGuiScaledHeight();
-    if (guiScaledWidth == currentGuiScaledWidth && guiScaledHeight == currentGuiScaleHeight) {
-      return;
+    return updateWindow(window.getGuiScaledWidth(), window.getGuiScaledHeight(), window.getWidth(),
+        window.getHeight());
+  }
+
+  boolean updateWindow(int currentGuiScaledWidth, int currentGuiScaledHeight,
+      int currentWindowWidth, int currentWindowHeight) {
+    if (guiScaledWidth == currentGuiScaledWidth && guiScaledHeight == currentGuiScaledHeight) {
+      return false;
     }
-    this.guiScaledHeight = currentGuiScaleHeight;
+    this.guiScaledHeight = currentGuiScaledHeight;
     this.guiScaledWidth = currentGuiScaledWidth;
-    this.windowHeight = window.getHeight();
-    this.windowWidth = window.getWidth();
+    this.windowHeight = currentWindowHeight;
+    this.windowWidth = currentWindowWidth;
     updateBasePosition();
+    return true;
+  }
+
+  private int getRightX() {
+    return this.guiScaledWidth - getWidthOrDefault();
+  }
+
+  private int getBottomY() {
+    return this.guiScaledHeight - getHeightOrDefault();
+  }
+
+  private int getMiddleY() {
+    return this.guiScaledHeight / 2 - getHeightOrDefault() / 2;
   }
 
   private int getWidthOrDefault() {
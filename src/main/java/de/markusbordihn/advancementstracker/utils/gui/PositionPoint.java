@@ -89,8 +89,13 @@ public class PositionPoint {
   }
 
   public void setOffset(PositionPoint positionPoint) {
-    setOffsetX(positionPoint.getX());
-    setOffsetY(positionPoint.getY());
+    setOffset(positionPoint.getX(), positionPoint.getY());
+  }
+
+  public void setOffset(int offsetX, int offsetY) {
+    this.offsetX = offsetX;
+    this.offsetY = offsetY;
+    recalculateAbsolutePosition();
   }
 
   private void recalculateAbsolutePosition() {
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.utils.gui;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.joml.Matrix4f;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+
+import de.markusbordihn.advancementstracker.Constants;
+
+public class RetainedRenderTarget {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private final Minecraft minecraft;
+  private RenderTarget renderTarget;
+  private boolean dirty = true;
+
+  public RetainedRenderTarget(Minecraft minecraft) {
+    this.minecraft = minecraft;
+  }
+
+  /**
+   * Returns true, if the retained content needs to be redrawn because it was marked as dirty or
+   * the size of the main render target has changed.
+   */
+  public boolean needsRedraw() {
+    RenderTarget mainRenderTarget = this.minecraft.getMainRenderTarget();
+    if (this.renderTarget == null || this.renderTarget.width != mainRenderTarget.width
+        || this.renderTarget.height != mainRenderTarget.height) {
+      return true;
+    }
+    return this.dirty;
+  }
+
+  public void beginRedraw(GuiGraphics guiGraphics) {
+    RenderTarget mainRenderTarget = this.minecraft.getMainRenderTarget();
+    if (this.renderTarget == null) {
+      log.debug("Create retained render target with {}x{}", mainRenderTarget.width,
+          mainRenderTarget.height);
+      this.renderTarget = new TextureTarget(mainRenderTarget.width, mainRenderTarget.height, true,
+          Minecraft.ON_OSX);
+    } else if (this.renderTarget.width != mainRenderTarget.width
+        || this.renderTarget.height != mainRenderTarget.height) {
+      this.renderTarget.resize(mainRenderTarget.width, mainRenderTarget.height, Minecraft.ON_OSX);
+    }
+
+    // Flush pending gui draws into the main render target, before switching the target.
+    guiGraphics.flush();
+    this.renderTarget.setClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+    this.renderTarget.clear(Minecraft.ON_OSX);
+    this.renderTarget.bindWrite(true);
+    this.dirty = false;
+  }
+
+  public void endRedraw(GuiGraphics guiGraphics) {
+    guiGraphics.flush();
+    this.minecraft.getMainRenderTarget().bindWrite(true);
+  }
+
+  /**
+   * Draws the retained content as single textured quad over the whole gui. The content is already
+   * blended against a transparent background (premultiplied alpha), so it needs to be blended with
+   * ONE / ONE_MINUS_SRC_ALPHA.
+   */
+  public void blit(GuiGraphics guiGraphics) {
+    if (this.renderTarget == null) {
+      return;
+    }
+    guiGraphics.flush();
+    float width = guiGraphics.guiWidth();
+    float height = guiGraphics.guiHeight();
+    Matrix4f matrix = guiGraphics.pose().last().pose();
+    RenderSystem.setShader(GameRenderer::getPositionTexShader);
+    RenderSystem.setShaderTexture(0, this.renderTarget.getColorTextureId());
+    RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
+    RenderSystem.enableBlend();
+    RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE,
+        GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+    BufferBuilder bufferBuilder = Tesselator.getInstance().getBuilder();
+    bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+    bufferBuilder.vertex(matrix, 0.0F, 0.0F, 0.0F).uv(0.0F, 1.0F).endVertex();
+    bufferBuilder.vertex(matrix, 0.0F, height, 0.0F).uv(0.0F, 0.0F).endVertex();
+    bufferBuilder.vertex(matrix, width, height, 0.0F).uv(1.0F, 0.0F).endVertex();
+    bufferBuilder.vertex(matrix, width, 0.0F, 0.0F).uv(1.0F, 1.0F).endVertex();
+    BufferUploader.drawWithShader(bufferBuilder.end());
+    RenderSystem.defaultBlendFunc();
+    RenderSystem.disableBlend();
+  }
+
+  public void markDirty() {
+    this.dirty = true;
+  }
+
+  public void release() {
+    if (this.renderTarget != null) {
+      this.renderTarget.destroyBuffers();
+      this.renderTarget = null;
+    }
+    this.dirty = true;
+  }
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.advancementstracker.utils.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import org.junit.jupiter.api.Test;
+
+import de.markusbordihn.advancementstracker.utils.gui.PositionManager.BasePosition;
+
+class PositionManagerTest {
+
+  private static final int UPDATES = 100_000;
+
+  @Test
+  void updateWindowOnlyReportsResizes() {
+    PositionManager positionManager = createPositionManager();
+    assertEquals(307, positionManager.getPositionX());
+    assertEquals(70, positionManager.getPositionY());
+
+    assertFalse(positionManager.updateWindow(427, 240, 854, 480));
+    assertTrue(positionManager.updateWindow(640, 360, 1280, 720));
+    assertEquals(520, positionManager.getPositionX());
+    assertEquals(130, positionManager.getPositionY());
+  }
+
+  @Test
+  void steadyStateUpdateWindowDoesNotAllocate() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+    ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    PositionManager positionManager = createPositionManager();
+
+    // Warm up, so that only the steady state is measured.
+    long checksum = 0;
+    for (int update = 0; update < UPDATES; update++) {
+      checksum += updatePosition(positionManager);
+    }
+
+    long threadId = Thread.currentThread().getId();
+    long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int update = 0; update < UPDATES; update++) {
+      checksum += updatePosition(positionManager);
+    }
+    allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+
+    // Less than one byte per update, even a single object per update would need at least 16 bytes.
+    assertTrue(allocatedBytes < UPDATES,
+        "Steady state updates allocated " + allocatedBytes + " bytes for " + UPDATES + " calls.");
+    assertTrue(checksum > 0);
+  }
+
+  private static PositionManager createPositionManager() {
+    PositionManager positionManager = new PositionManager();
+    positionManager.setWidth(120);
+    positionManager.setHeight(0);
+    positionManager.setBasePosition(BasePosition.MIDDLE_RIGHT);
+    positionManager.updateWindow(427, 240, 854, 480);
+    return positionManager;
+  }
+
+  private static long updatePosition(PositionManager positionManager) {
+    // Window check and position reads without a resize, as done for every widget model update.
+    if (positionManager.updateWindow(427, 240, 854, 480)) {
+      return 0;
+    }
+    return positionManager.getPositionX() + positionManager.getPositionY()
+        + positionManager.getPositionXWidth() + positionManager.getWindowHeightScaled();
+  }
+
+}